@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.benchmarks;
+
+import io.spring.initializr.generator.language.java.JavaLanguage;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.start.site.buildsystem.maven2.MavenBuild;
+import io.spring.start.site.buildsystem.maven2.MavenBuildSystem;
+import io.spring.start.site.extension.build.maven.DefaultMavenBuildCustomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link DefaultMavenBuildCustomizer#customize(MavenBuild)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class DefaultMavenBuildCustomizerBenchmark {
+
+	private DefaultMavenBuildCustomizer customizer;
+
+	@Setup
+	public void setUp(StartApplicationState application) {
+		InitializrMetadata metadata = application.getMetadata();
+		MutableProjectDescription description = new MutableProjectDescription();
+		description.setPlatformVersion(Version.parse("2.2.6.RELEASE"));
+		description.setLanguage(new JavaLanguage("1.8"));
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setGroupId("com.example");
+		description.setArtifactId("demo");
+		description.setName("demo");
+		description.setDescription("Demo project");
+		description.setPackageName("com.example.demo");
+		this.customizer = new DefaultMavenBuildCustomizer(description, metadata);
+	}
+
+	@Benchmark
+	public MavenBuild customize() {
+		MavenBuild build = new MavenBuild();
+		this.customizer.customize(build);
+		return build;
+	}
+
+}
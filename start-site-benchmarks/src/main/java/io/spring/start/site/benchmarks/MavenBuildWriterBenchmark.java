@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.benchmarks;
+
+import java.io.StringWriter;
+
+import io.spring.initializr.generator.buildsystem.DependencyScope;
+import io.spring.initializr.generator.io.IndentingWriter;
+import io.spring.start.site.buildsystem.maven2.MavenBuild;
+import io.spring.start.site.buildsystem.maven2.MavenBuildWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link MavenBuildWriter#writeTo(IndentingWriter, MavenBuild)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class MavenBuildWriterBenchmark {
+
+	private final MavenBuildWriter writer = new MavenBuildWriter();
+
+	private MavenBuild build;
+
+	@Setup
+	public void setUp() {
+		MavenBuild build = new MavenBuild();
+		build.settings().coordinates("com.example", "demo").version("0.0.1-SNAPSHOT").name("demo")
+				.description("Demo project").parent("org.springframework.boot", "spring-boot-starter-parent",
+						"2.2.6.RELEASE");
+		build.properties().property("java.version", "1.8");
+		build.dependencies().add("web", "org.springframework.boot", "spring-boot-starter-web",
+				DependencyScope.COMPILE);
+		build.dependencies().add("security", "org.springframework.boot", "spring-boot-starter-security",
+				DependencyScope.COMPILE);
+		build.dependencies().add("liquibase", "org.liquibase", "liquibase-core", DependencyScope.COMPILE);
+		build.dependencies().add("postgresql", "org.postgresql", "postgresql", DependencyScope.RUNTIME);
+		build.dependencies().add("lombok", "org.projectlombok", "lombok", DependencyScope.ANNOTATION_PROCESSOR);
+		build.dependencies().add("test", "org.springframework.boot", "spring-boot-starter-test",
+				DependencyScope.TEST_COMPILE);
+		build.plugins().add("org.springframework.boot", "spring-boot-maven-plugin");
+		build.plugins().add("org.apache.maven.plugins", "maven-surefire-plugin",
+				(plugin) -> plugin.configuration((configuration) -> configuration.add("skipTests", "true")));
+		this.build = build;
+	}
+
+	@Benchmark
+	public String writeTo() {
+		StringWriter out = new StringWriter();
+		this.writer.writeTo(new IndentingWriter(out), this.build);
+		return out.toString();
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.benchmarks;
+
+import java.io.IOException;
+
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.start.site.web.StartProjectGenerationController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * End-to-end benchmark of the generation of a project archive, from the request to the
+ * bytes of the zip file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ProjectGenerationBenchmark {
+
+	private StartProjectGenerationController controller;
+
+	private StartApplicationState application;
+
+	@Setup
+	public void setUp(StartApplicationState application) {
+		this.application = application;
+		this.controller = application.getBean(StartProjectGenerationController.class);
+	}
+
+	@Benchmark
+	public ResponseEntity<byte[]> defaultProject() throws IOException {
+		return this.controller.springZip(this.application.createProjectRequest("web"));
+	}
+
+	@Benchmark
+	public ResponseEntity<byte[]> fullProject() throws IOException {
+		ProjectRequest request = this.application.createProjectRequest("web", "security", "java-jwt", "swagger2",
+				"liquibase", "lombok", "actuator");
+		return this.controller.springZip(request);
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.benchmarks;
+
+import java.net.URL;
+import java.util.Set;
+
+import io.spring.start.site.extension.code.java.realpage.ResourcesScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * Benchmarks for {@link ResourcesScanner#getResourceURLs()}, both when the classpath
+ * has to be scanned and when the listing has already been cached.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ResourcesScannerBenchmark {
+
+	private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+	private ResourcesScanner scanner;
+
+	@Setup
+	public void setUp() {
+		this.scanner = new ResourcesScanner(this.resolver);
+		this.scanner.getResourceURLs();
+	}
+
+	@Benchmark
+	public Set<URL> scan() {
+		return new ResourcesScanner(this.resolver).getResourceURLs();
+	}
+
+	@Benchmark
+	public Set<URL> cached() {
+		return this.scanner.getResourceURLs();
+	}
+
+}
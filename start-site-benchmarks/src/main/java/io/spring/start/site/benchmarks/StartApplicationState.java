@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.benchmarks;
+
+import java.util.Arrays;
+
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import io.spring.start.site.StartApplication;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * A running {@link StartApplication}, shared by the benchmarks of a trial.
+ */
+@State(Scope.Benchmark)
+public class StartApplicationState {
+
+	private ConfigurableApplicationContext context;
+
+	@Setup
+	public void start() {
+		this.context = new SpringApplicationBuilder(StartApplication.class)
+				.properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=warn",
+						// Generate on the calling thread, no request is bound to it
+						"start.generation.streaming=false", "start.generation.executor.enabled=false",
+						// Use the Spring Boot versions of the configuration, no network I/O
+						"initializr.env.spring-boot-metadata-url=")
+				.run();
+	}
+
+	@TearDown
+	public void stop() {
+		this.context.close();
+	}
+
+	public <T> T getBean(Class<T> type) {
+		return this.context.getBean(type);
+	}
+
+	public InitializrMetadata getMetadata() {
+		return getBean(InitializrMetadataProvider.class).get();
+	}
+
+	/**
+	 * Create a request for a project with the specified dependencies, using the
+	 * defaults of the metadata otherwise.
+	 * @param dependencies the ids of the dependencies to request
+	 * @return a project request
+	 */
+	public ProjectRequest createProjectRequest(String... dependencies) {
+		WebProjectRequest request = new WebProjectRequest();
+		request.initialize(getMetadata());
+		request.getDependencies().addAll(Arrays.asList(dependencies));
+		return request;
+	}
+
+}
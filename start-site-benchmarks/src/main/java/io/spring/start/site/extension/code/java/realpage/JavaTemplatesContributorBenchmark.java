@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.code.java.realpage;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import io.spring.initializr.generator.buildsystem.Dependency;
+import io.spring.initializr.generator.language.java.JavaLanguage;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.version.Version;
+import io.spring.start.site.buildsystem.maven2.MavenBuildSystem;
+import io.spring.start.site.generation.InMemoryProjectTree;
+import io.spring.start.site.generation.ProjectOutputHolder;
+import io.spring.start.site.generation.StaticResources;
+import io.spring.start.site.support.PrecompiledTemplateRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * Benchmark for {@link JavaTemplatesContributor#contribute(Path)}, rendering the
+ * templates of a project that uses every optional feature into memory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class JavaTemplatesContributorBenchmark {
+
+	private static final Path PROJECT_ROOT = Paths.get("demo");
+
+	private JavaTemplatesContributor contributor;
+
+	@Setup
+	public void setUp() {
+		PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+		TemplateIndex templateIndex = TemplateIndex.scan(new ResourcesScanner(resolver));
+		PrecompiledTemplateRenderer renderer = new PrecompiledTemplateRenderer("classpath:/templates",
+				new ConcurrentMapCache("templates"));
+		MutableProjectDescription description = new MutableProjectDescription();
+		description.setPlatformVersion(Version.parse("2.2.6.RELEASE"));
+		description.setLanguage(new JavaLanguage("1.8"));
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setName("demo");
+		description.setApplicationName("DemoApplication");
+		description.setPackageName("com.example.demo");
+		for (String id : new String[] { "web", "security", "java-jwt", "swagger2", "liquibase", "lombok",
+				"actuator" }) {
+			description.addDependency(id, Dependency.withCoordinates("com.example", id).build());
+		}
+		this.contributor = new JavaTemplatesContributor(renderer::render, description, templateIndex,
+				new StaticResources(resolver), null);
+	}
+
+	@Benchmark
+	public InMemoryProjectTree contribute() throws Exception {
+		InMemoryProjectTree tree = new InMemoryProjectTree();
+		return ProjectOutputHolder.invoke(tree, () -> {
+			this.contributor.contribute(PROJECT_ROOT);
+			return tree;
+		});
+	}
+
+}
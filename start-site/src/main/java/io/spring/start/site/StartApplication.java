@@ -18,26 +18,79 @@ package io.spring.start.site;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samskivert.mustache.Template;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.generator.project.ProjectDirectoryFactory;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
 import io.spring.initializr.versionresolver.DependencyManagementVersionResolver;
+import io.spring.initializr.web.controller.ProjectGenerationController;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectRequest;
 import io.spring.initializr.web.support.InitializrMetadataUpdateStrategy;
+import io.spring.start.site.extension.code.java.realpage.ResourcesScanner;
+import io.spring.start.site.extension.code.java.realpage.TemplateIndex;
+import io.spring.start.site.extension.code.java.realpage.TemplateRenderingExecutor;
+import io.spring.start.site.generation.MemoizingProjectGenerationInvoker;
+import io.spring.start.site.generation.ProjectArchiveCache;
+import io.spring.start.site.generation.ProjectDescriptionDigest;
+import io.spring.start.site.generation.ProjectGenerationMetrics;
+import io.spring.start.site.generation.ProjectOutputHolder;
+import io.spring.start.site.generation.ProjectSnapshots;
+import io.spring.start.site.generation.StageTimingBeanPostProcessor;
+import io.spring.start.site.generation.StaticResources;
 import io.spring.start.site.project.ProjectDescriptionCustomizerConfiguration;
 import io.spring.start.site.support.CacheableDependencyManagementVersionResolver;
+import io.spring.start.site.support.CircuitBreaker;
+import io.spring.start.site.support.ConcurrencyLimitingExecutor;
+import io.spring.start.site.support.PersistentDependencyManagementVersionResolver;
+import io.spring.start.site.support.PrecompiledTemplateRenderer;
 import io.spring.start.site.support.StartInitializrMetadataUpdateStrategy;
+import io.spring.start.site.support.VersionResolverWarmUp;
+import io.spring.start.site.support.VersionResolverWarmUpHealthIndicator;
+import io.spring.start.site.support.VirtualThreads;
 import io.spring.start.site.web.HomeController;
+import io.spring.start.site.web.ProjectGenerationExecutor;
+import io.spring.start.site.web.SnapshotProjectGenerationController;
+import io.spring.start.site.web.StartProjectGenerationController;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.boot.web.server.ErrorPage;
 import org.springframework.boot.web.server.ErrorPageRegistrar;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.web.client.RestTemplate;
 
 /**
  * Initializr website application.
@@ -49,16 +102,30 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @Import(ProjectDescriptionCustomizerConfiguration.class)
 @EnableCaching
 @EnableAsync
+@EnableConfigurationProperties(StartProperties.class)
 public class StartApplication {
 
+	private static final String TEMPLATES_CACHE = "start.templates";
+
+	private static final List<String> STATIC_RESOURCES = Arrays.asList("classpath:configuration/keystore.p12",
+			"classpath:configuration/oauth2-redirect.html", "classpath:configuration/db.changelog-master.yaml",
+			"classpath:configuration/FillCompanies.sql");
+
 	public static void main(String[] args) {
 		SpringApplication.run(StartApplication.class, args);
 	}
 
 	@Bean
 	public InitializrMetadataUpdateStrategy startMetadataUpdateStrategy(RestTemplateBuilder restTemplateBuilder,
-			ObjectMapper objectMapper) {
-		return new StartInitializrMetadataUpdateStrategy(restTemplateBuilder.build(), objectMapper);
+			ObjectMapper objectMapper, StartProperties properties) {
+		StartProperties.Metadata metadata = properties.getMetadata();
+		RestTemplate restTemplate = restTemplateBuilder.setConnectTimeout(metadata.getTimeout())
+				.setReadTimeout(metadata.getTimeout()).build();
+		if (metadata.getRefreshInterval() == null) {
+			return new StartInitializrMetadataUpdateStrategy(restTemplate, objectMapper);
+		}
+		return new StartInitializrMetadataUpdateStrategy(restTemplate, objectMapper, metadata.getRefreshInterval(),
+				new CircuitBreaker(metadata.getFailureThreshold(), metadata.getOpenDuration()));
 	}
 
 	@Bean
@@ -66,6 +133,50 @@ public class StartApplication {
 		return new HomeController();
 	}
 
+	@Bean
+	public ProjectGenerationController<ProjectRequest> projectGenerationController(
+			InitializrMetadataProvider metadataProvider, ApplicationContext applicationContext,
+			StartProperties properties, ObjectProvider<ProjectDescriptionCustomizer> projectDescriptionCustomizers,
+			ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<ProjectGenerationExecutor> executor)
+			throws IOException {
+		DefaultProjectRequestToDescriptionConverter converter = new DefaultProjectRequestToDescriptionConverter();
+		StartProperties.Generation generation = properties.getGeneration();
+		ProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker = new MemoizingProjectGenerationInvoker(
+				applicationContext, converter, generation.isMemoizeContext(), generation.getMemoizedContexts(),
+				generation.isBuildOnlyContext());
+		ProjectDescriptionDigest projectDescriptionDigest = null;
+		ProjectArchiveCache archiveCache = null;
+		StartProperties.Generation.Cache cache = generation.getCache();
+		StartProperties.Generation.Diff diff = generation.getDiff();
+		if (cache.isEnabled() || diff.isEnabled()) {
+			projectDescriptionDigest = new ProjectDescriptionDigest(metadataProvider, converter,
+					projectDescriptionCustomizers);
+		}
+		if (cache.isEnabled()) {
+			Path directory = (cache.getDirectory() != null) ? cache.getDirectory()
+					: Files.createTempDirectory("project-archives-");
+			archiveCache = new ProjectArchiveCache(directory, cache.getMaxSize().toBytes(), cache.getTimeToLive());
+		}
+		MeterRegistry registry = generation.getMetrics().isEnabled() ? meterRegistry.getIfAvailable() : null;
+		ProjectGenerationMetrics metrics = (registry != null) ? new ProjectGenerationMetrics(registry) : null;
+		if (diff.isEnabled()) {
+			return new SnapshotProjectGenerationController(metadataProvider, projectGenerationInvoker, properties,
+					projectDescriptionDigest, archiveCache, metrics, executor.getIfAvailable(),
+					new ProjectSnapshots(diff.getMaxSnapshots()));
+		}
+		return new StartProjectGenerationController(metadataProvider, projectGenerationInvoker, properties,
+				projectDescriptionDigest, archiveCache, metrics, executor.getIfAvailable());
+	}
+
+	@Bean
+	public ProjectDirectoryFactory projectDirectoryFactory() {
+		return (description) -> {
+			Path rootDirectory = Files.createTempDirectory("project-");
+			ProjectOutputHolder.getProjectOutput().initialize(rootDirectory);
+			return rootDirectory;
+		};
+	}
+
 	@Bean
 	public ErrorPageRegistrar errorPageRegistrar() {
 		return (registry) -> {
@@ -75,9 +186,105 @@ public class StartApplication {
 	}
 
 	@Bean
-	public DependencyManagementVersionResolver dependencyManagementVersionResolver() throws IOException {
-		return new CacheableDependencyManagementVersionResolver(DependencyManagementVersionResolver
-				.withCacheLocation(Files.createTempDirectory("version-resolver-cache-")));
+	public TemplateIndex templateIndex(ResourceLoader resourceLoader) {
+		ResourcesScanner scanner = new ResourcesScanner(
+				ResourcePatternUtils.getResourcePatternResolver(resourceLoader));
+		return TemplateIndex.scan(scanner);
+	}
+
+	@Bean
+	public JCacheManagerCustomizer startCacheManagerCustomizer(StartProperties properties) {
+		return (cacheManager) -> {
+			cacheManager.createCache(TEMPLATES_CACHE,
+					Eh107Configuration.fromEhcacheCacheConfiguration(CacheConfigurationBuilder
+							.newCacheConfigurationBuilder(String.class, Template.class,
+									ResourcePoolsBuilder.heap(properties.getTemplates().getCacheSize()))));
+			cacheManager.enableStatistics(TEMPLATES_CACHE, true);
+			cacheManager.enableManagement(TEMPLATES_CACHE, true);
+		};
+	}
+
+	@Bean
+	public PrecompiledTemplateRenderer precompiledTemplateRenderer(CacheManager cacheManager,
+			TemplateIndex templateIndex, StartProperties properties) {
+		PrecompiledTemplateRenderer renderer = new PrecompiledTemplateRenderer("classpath:/templates",
+				cacheManager.getCache(TEMPLATES_CACHE));
+		List<String> templateNames = properties.getTemplates().getPrecompile().stream()
+				.flatMap((prefix) -> templateIndex.getTemplates(prefix).stream())
+				.map(TemplateIndex.TemplateEntry::getTemplateName).collect(Collectors.toList());
+		renderer.compile(templateNames);
+		return renderer;
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "start.templates", name = "parallel-rendering", havingValue = "true")
+	public TemplateRenderingExecutor templateRenderingExecutor(StartProperties properties) {
+		StartProperties.Templates templates = properties.getTemplates();
+		return new TemplateRenderingExecutor(templates.getRenderingThreads(), templates.getRenderingQueueCapacity());
+	}
+
+	@Bean
+	public StaticResources staticResources(ResourceLoader resourceLoader) {
+		StaticResources staticResources = new StaticResources(
+				ResourcePatternUtils.getResourcePatternResolver(resourceLoader));
+		STATIC_RESOURCES.forEach(staticResources::getResource);
+		staticResources.getDirectory("classpath:maven/wrapper");
+		return staticResources;
+	}
+
+	@Bean
+	public DependencyManagementVersionResolver dependencyManagementVersionResolver(StartProperties properties,
+			ResourceLoader resourceLoader) throws IOException {
+		StartProperties.VersionResolver versionResolver = properties.getVersionResolver();
+		Path directory = (versionResolver.getDirectory() != null) ? versionResolver.getDirectory()
+				: Files.createTempDirectory("version-resolver-cache-");
+		DependencyManagementVersionResolver delegate = DependencyManagementVersionResolver
+				.withCacheLocation(directory.resolve("repository"));
+		Resource snapshot = (versionResolver.getSnapshot() != null)
+				? resourceLoader.getResource(versionResolver.getSnapshot()) : null;
+		return new CacheableDependencyManagementVersionResolver(new PersistentDependencyManagementVersionResolver(
+				delegate, directory.resolve("index.bin"), snapshot), versionResolver.getTimeout());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "start.generation.metrics", name = "enabled", havingValue = "true")
+	public static StageTimingBeanPostProcessor stageTimingBeanPostProcessor(
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new StageTimingBeanPostProcessor(meterRegistry);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "start.generation.executor", name = "enabled", havingValue = "true")
+	public ProjectGenerationExecutor projectGenerationExecutor(StartProperties properties,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		StartProperties.Generation.Executor executor = properties.getGeneration().getExecutor();
+		if (executor.isVirtualThreads() && VirtualThreads.isAvailable()) {
+			ThreadFactory threadFactory = VirtualThreads.threadFactory("project-generation-", true);
+			return new ProjectGenerationExecutor(new ConcurrencyLimitingExecutor(threadFactory,
+					executor.getConcurrency(), executor.getQueueCapacity()), executor.getTimeout());
+		}
+		ThreadPoolExecutor threadPool = new ThreadPoolExecutor(executor.getConcurrency(), executor.getConcurrency(), 60,
+				TimeUnit.SECONDS, new ArrayBlockingQueue<>(executor.getQueueCapacity()),
+				VirtualThreads.threadFactory("project-generation-", false));
+		threadPool.allowCoreThreadTimeOut(true);
+		meterRegistry.ifAvailable((registry) -> new ExecutorServiceMetrics(threadPool, "start.generation",
+				Collections.emptyList()).bindTo(registry));
+		return new ProjectGenerationExecutor(threadPool, executor.getTimeout());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "start.version-resolver.warm-up", name = "enabled", havingValue = "true")
+	public VersionResolverWarmUp versionResolverWarmUp(InitializrMetadataProvider metadataProvider,
+			DependencyManagementVersionResolver dependencyManagementVersionResolver, StartProperties properties) {
+		return new VersionResolverWarmUp(metadataProvider, dependencyManagementVersionResolver,
+				properties.getVersionResolver().getWarmUp().getThreads());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "start.version-resolver.warm-up", name = "enabled", havingValue = "true")
+	public VersionResolverWarmUpHealthIndicator versionResolverWarmUpHealthIndicator(
+			VersionResolverWarmUp versionResolverWarmUp) {
+		return new VersionResolverWarmUpHealthIndicator(versionResolverWarmUp);
 	}
 
 }
@@ -0,0 +1,576 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties of the website.
+ */
+@ConfigurationProperties("start")
+public class StartProperties {
+
+	private final Templates templates = new Templates();
+
+	private final Generation generation = new Generation();
+
+	private final VersionResolver versionResolver = new VersionResolver();
+
+	private final Metadata metadata = new Metadata();
+
+	public Templates getTemplates() {
+		return this.templates;
+	}
+
+	public Generation getGeneration() {
+		return this.generation;
+	}
+
+	public VersionResolver getVersionResolver() {
+		return this.versionResolver;
+	}
+
+	public Metadata getMetadata() {
+		return this.metadata;
+	}
+
+	/**
+	 * Templates configuration.
+	 */
+	public static class Templates {
+
+		/**
+		 * Maximum number of compiled templates to keep in memory.
+		 */
+		private int cacheSize = 256;
+
+		/**
+		 * Template directories to compile on startup.
+		 */
+		private List<String> precompile = new ArrayList<>(Arrays.asList("starter", "starter2", "common"));
+
+		/**
+		 * Whether to render the templates of a project in parallel, using a dedicated
+		 * executor.
+		 */
+		private boolean parallelRendering;
+
+		/**
+		 * Number of threads that render templates in parallel.
+		 */
+		private int renderingThreads = 4;
+
+		/**
+		 * Maximum number of templates waiting to be rendered in parallel. Further
+		 * templates are rendered by the thread that generates the project.
+		 */
+		private int renderingQueueCapacity = 256;
+
+		public int getCacheSize() {
+			return this.cacheSize;
+		}
+
+		public void setCacheSize(int cacheSize) {
+			this.cacheSize = cacheSize;
+		}
+
+		public List<String> getPrecompile() {
+			return this.precompile;
+		}
+
+		public void setPrecompile(List<String> precompile) {
+			this.precompile = precompile;
+		}
+
+		public boolean isParallelRendering() {
+			return this.parallelRendering;
+		}
+
+		public void setParallelRendering(boolean parallelRendering) {
+			this.parallelRendering = parallelRendering;
+		}
+
+		public int getRenderingThreads() {
+			return this.renderingThreads;
+		}
+
+		public void setRenderingThreads(int renderingThreads) {
+			this.renderingThreads = renderingThreads;
+		}
+
+		public int getRenderingQueueCapacity() {
+			return this.renderingQueueCapacity;
+		}
+
+		public void setRenderingQueueCapacity(int renderingQueueCapacity) {
+			this.renderingQueueCapacity = renderingQueueCapacity;
+		}
+
+	}
+
+	/**
+	 * Project generation configuration.
+	 */
+	public static class Generation {
+
+		/**
+		 * Whether to keep the files contributed by the website in memory and write them
+		 * straight to the archive, rather than to a temporary directory.
+		 */
+		private boolean inMemory;
+
+		/**
+		 * Whether to stream zip archives to the response while the project is generated.
+		 * Once the first file has been sent, a failure can only abort the response.
+		 */
+		private boolean streaming;
+
+		/**
+		 * Whether to record the outcome of the configuration classes processing of a
+		 * generation context and reuse it for requests with the same type, language,
+		 * versions, packaging and dependencies.
+		 */
+		private boolean memoizeContext;
+
+		/**
+		 * Maximum number of distinct requests whose generation context is memoized.
+		 */
+		private int memoizedContexts = 256;
+
+		/**
+		 * Whether to only create the beans that customize and write the build when a build
+		 * file alone is requested, leaving project contributors and the help document out.
+		 */
+		private boolean buildOnlyContext;
+
+		private final Cache cache = new Cache();
+
+		private final Executor executor = new Executor();
+
+		private final Metrics metrics = new Metrics();
+
+		private final Diff diff = new Diff();
+
+		public boolean isInMemory() {
+			return this.inMemory;
+		}
+
+		public void setInMemory(boolean inMemory) {
+			this.inMemory = inMemory;
+		}
+
+		public boolean isStreaming() {
+			return this.streaming;
+		}
+
+		public void setStreaming(boolean streaming) {
+			this.streaming = streaming;
+		}
+
+		public boolean isMemoizeContext() {
+			return this.memoizeContext;
+		}
+
+		public void setMemoizeContext(boolean memoizeContext) {
+			this.memoizeContext = memoizeContext;
+		}
+
+		public int getMemoizedContexts() {
+			return this.memoizedContexts;
+		}
+
+		public void setMemoizedContexts(int memoizedContexts) {
+			this.memoizedContexts = memoizedContexts;
+		}
+
+		public boolean isBuildOnlyContext() {
+			return this.buildOnlyContext;
+		}
+
+		public void setBuildOnlyContext(boolean buildOnlyContext) {
+			this.buildOnlyContext = buildOnlyContext;
+		}
+
+		public Cache getCache() {
+			return this.cache;
+		}
+
+		public Executor getExecutor() {
+			return this.executor;
+		}
+
+		public Metrics getMetrics() {
+			return this.metrics;
+		}
+
+		public Diff getDiff() {
+			return this.diff;
+		}
+
+		/**
+		 * Generated archives cache configuration.
+		 */
+		public static class Cache {
+
+			/**
+			 * Whether to cache generated archives.
+			 */
+			private boolean enabled;
+
+			/**
+			 * Directory to store cached archives in. A temporary directory is used if not
+			 * set.
+			 */
+			private Path directory;
+
+			/**
+			 * Maximum size of the cached archives on disk.
+			 */
+			private DataSize maxSize = DataSize.ofMegabytes(256);
+
+			/**
+			 * Time to live of a cached archive. Archives do not expire if not set.
+			 */
+			private Duration timeToLive;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public Path getDirectory() {
+				return this.directory;
+			}
+
+			public void setDirectory(Path directory) {
+				this.directory = directory;
+			}
+
+			public DataSize getMaxSize() {
+				return this.maxSize;
+			}
+
+			public void setMaxSize(DataSize maxSize) {
+				this.maxSize = maxSize;
+			}
+
+			public Duration getTimeToLive() {
+				return this.timeToLive;
+			}
+
+			public void setTimeToLive(Duration timeToLive) {
+				this.timeToLive = timeToLive;
+			}
+
+		}
+
+		/**
+		 * Project generation executor configuration.
+		 */
+		public static class Executor {
+
+			/**
+			 * Whether to generate projects on a dedicated executor rather than on the
+			 * threads of the web server.
+			 */
+			private boolean enabled;
+
+			/**
+			 * Whether to use virtual threads, if the JVM supports them (Java 21 or later).
+			 * Virtual threads are not pooled: a semaphore limits how many of them
+			 * generate projects concurrently.
+			 */
+			private boolean virtualThreads = true;
+
+			/**
+			 * Maximum number of projects generated concurrently.
+			 */
+			private int concurrency = 32;
+
+			/**
+			 * Maximum number of generation requests waiting for a thread. Further
+			 * requests are rejected with a 503 status.
+			 */
+			private int queueCapacity = 256;
+
+			/**
+			 * Maximum time to generate a project, including the time spent waiting for a
+			 * thread.
+			 */
+			private Duration timeout = Duration.ofSeconds(60);
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public boolean isVirtualThreads() {
+				return this.virtualThreads;
+			}
+
+			public void setVirtualThreads(boolean virtualThreads) {
+				this.virtualThreads = virtualThreads;
+			}
+
+			public int getConcurrency() {
+				return this.concurrency;
+			}
+
+			public void setConcurrency(int concurrency) {
+				this.concurrency = concurrency;
+			}
+
+			public int getQueueCapacity() {
+				return this.queueCapacity;
+			}
+
+			public void setQueueCapacity(int queueCapacity) {
+				this.queueCapacity = queueCapacity;
+			}
+
+			public Duration getTimeout() {
+				return this.timeout;
+			}
+
+			public void setTimeout(Duration timeout) {
+				this.timeout = timeout;
+			}
+
+		}
+
+		/**
+		 * Project generation metrics configuration.
+		 */
+		public static class Metrics {
+
+			/**
+			 * Whether to time each stage of the generation of a project, and to record
+			 * the size of generated projects and the memory allocated to generate them.
+			 */
+			private boolean enabled;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+		}
+
+		/**
+		 * Incremental project generation configuration.
+		 */
+		public static class Diff {
+
+			/**
+			 * Whether to expose an endpoint that only archives the files that changed
+			 * since a previously generated snapshot of the project. The project is still
+			 * generated in full.
+			 */
+			private boolean enabled;
+
+			/**
+			 * Maximum number of project snapshots to keep.
+			 */
+			private int maxSnapshots = 1024;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public int getMaxSnapshots() {
+				return this.maxSnapshots;
+			}
+
+			public void setMaxSnapshots(int maxSnapshots) {
+				this.maxSnapshots = maxSnapshots;
+			}
+
+		}
+
+	}
+
+	/**
+	 * Dependency management version resolution configuration.
+	 */
+	public static class VersionResolver {
+
+		/**
+		 * Directory to store resolved BOMs and the index of resolved versions in, so that
+		 * they survive a restart. A temporary directory is used if not set.
+		 */
+		private Path directory;
+
+		/**
+		 * Location of a pre-built index of resolved versions to start from. Ignored if
+		 * it does not exist.
+		 */
+		private String snapshot = "classpath:version-resolver/index.bin";
+
+		/**
+		 * How long to wait for the resolution of a BOM that another request is already
+		 * resolving.
+		 */
+		private Duration timeout = Duration.ofSeconds(30);
+
+		private final WarmUp warmUp = new WarmUp();
+
+		public Path getDirectory() {
+			return this.directory;
+		}
+
+		public void setDirectory(Path directory) {
+			this.directory = directory;
+		}
+
+		public String getSnapshot() {
+			return this.snapshot;
+		}
+
+		public void setSnapshot(String snapshot) {
+			this.snapshot = snapshot;
+		}
+
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+		public WarmUp getWarmUp() {
+			return this.warmUp;
+		}
+
+		/**
+		 * Version resolution warm-up configuration.
+		 */
+		public static class WarmUp {
+
+			/**
+			 * Whether to resolve the BOMs of every available Spring Boot version once the
+			 * application is ready. The node reports itself out of service until then.
+			 */
+			private boolean enabled;
+
+			/**
+			 * Maximum number of BOMs to resolve concurrently.
+			 */
+			private int threads = 4;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public int getThreads() {
+				return this.threads;
+			}
+
+			public void setThreads(int threads) {
+				this.threads = threads;
+			}
+
+		}
+
+	}
+
+	/**
+	 * Metadata update configuration.
+	 */
+	public static class Metadata {
+
+		/**
+		 * Interval between two background refreshes of the Spring Boot versions. If not
+		 * set, the versions are fetched whenever the metadata is updated.
+		 */
+		private Duration refreshInterval;
+
+		/**
+		 * Connect and read timeout of the calls to spring.io.
+		 */
+		private Duration timeout = Duration.ofSeconds(10);
+
+		/**
+		 * Number of consecutive failed refreshes after which spring.io is no longer
+		 * called for a while.
+		 */
+		private int failureThreshold = 3;
+
+		/**
+		 * How long to stop calling spring.io once the failure threshold is reached.
+		 */
+		private Duration openDuration = Duration.ofMinutes(5);
+
+		public Duration getRefreshInterval() {
+			return this.refreshInterval;
+		}
+
+		public void setRefreshInterval(Duration refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
+
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+		public int getFailureThreshold() {
+			return this.failureThreshold;
+		}
+
+		public void setFailureThreshold(int failureThreshold) {
+			this.failureThreshold = failureThreshold;
+		}
+
+		public Duration getOpenDuration() {
+			return this.openDuration;
+		}
+
+		public void setOpenDuration(Duration openDuration) {
+			this.openDuration = openDuration;
+		}
+
+	}
+
+}
@@ -21,11 +21,15 @@ import io.spring.initializr.generator.buildsystem.Dependency.Exclusion;
 import io.spring.initializr.generator.io.IndentingWriter;
 import io.spring.initializr.generator.version.VersionProperty;
 import io.spring.initializr.generator.version.VersionReference;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
 import org.springframework.util.ObjectUtils;
 
+import java.io.StringWriter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -40,6 +44,50 @@ import java.util.stream.Stream;
  */
 public class MavenBuildWriter {
 
+	private static final String PROLOG = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+	private static final String PROJECT_START = "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" "
+			+ "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"";
+
+	private static final String SCHEMA_LOCATION = "xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 "
+			+ "https://maven.apache.org/xsd/maven-4.0.0.xsd\">";
+
+	private static final String MODEL_VERSION = "<modelVersion>4.0.0</modelVersion>";
+
+	private static final String PROJECT_END = "</project>";
+
+	/**
+	 * Order in which dependencies are grouped, by scope. {@code null} and
+	 * {@link DependencyScope#COMPILE} share the first group.
+	 */
+	private static final DependencyScope[][] DEPENDENCY_GROUPS = { { DependencyScope.COMPILE },
+			{ DependencyScope.RUNTIME }, { DependencyScope.COMPILE_ONLY }, { DependencyScope.ANNOTATION_PROCESSOR },
+			{ DependencyScope.PROVIDED_RUNTIME }, { DependencyScope.TEST_COMPILE, DependencyScope.TEST_RUNTIME } };
+
+	private static final int[] DEPENDENCY_GROUP_INDEX = new int[DependencyScope.values().length];
+
+	static {
+		for (int i = 0; i < DEPENDENCY_GROUPS.length; i++) {
+			for (DependencyScope scope : DEPENDENCY_GROUPS[i]) {
+				DEPENDENCY_GROUP_INDEX[scope.ordinal()] = i;
+			}
+		}
+	}
+
+	/**
+	 * Opening and closing tags, keyed by element name. Element names come from a small,
+	 * bounded vocabulary so the tags are computed once rather than for every element.
+	 */
+	private static final ConcurrentMap<String, Tag> TAGS = new ConcurrentHashMap<>();
+
+	/**
+	 * Rendered fragments of the plugins and profiles that are declared as shared across
+	 * builds, keyed by identity. Entries are softly referenced: they survive regular
+	 * garbage collections and are only released, along with the instance they were
+	 * rendered for, under memory pressure.
+	 */
+	private static final Map<Object, Fragment> FRAGMENTS = new ConcurrentReferenceHashMap<>(16, ReferenceType.SOFT);
+
 	/**
 	 * Write a {@linkplain MavenBuild pom.xml} using the specified
 	 * {@linkplain IndentingWriter writer}.
@@ -67,17 +115,15 @@ public class MavenBuildWriter {
 	}
 
 	private void writeProject(IndentingWriter writer, Runnable whenWritten) {
-		writer.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
-		writer.println(
-				"<project xmlns=\"http://maven.apache.org/POM/4.0.0\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"");
+		writer.println(PROLOG);
+		writer.println(PROJECT_START);
 		writer.indented(() -> {
-			writer.println(
-					"xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd\">");
-			writeSingleElement(writer, "modelVersion", "4.0.0");
+			writer.println(SCHEMA_LOCATION);
+			writer.println(MODEL_VERSION);
 			whenWritten.run();
 		});
 		writer.println();
-		writer.println("</project>");
+		writer.println(PROJECT_END);
 	}
 
 	private void writeParent(IndentingWriter writer, MavenBuild build) {
@@ -173,33 +219,38 @@ public class MavenBuildWriter {
 		if (build.dependencies().isEmpty()) {
 			return;
 		}
-		DependencyContainer dependencies = build.dependencies();
+		List<List<Dependency>> groups = groupDependencies(build.dependencies());
 		writer.println();
 		writeElement(writer, "dependencies", () -> {
-			Collection<Dependency> compiledDependencies = writeDependencies(writer, dependencies,
-					(scope) -> scope == null || scope == DependencyScope.COMPILE);
-			if (!compiledDependencies.isEmpty()) {
-				writer.println();
+			for (int i = 0; i < groups.size(); i++) {
+				List<Dependency> group = groups.get(i);
+				writeCollection(writer, group, this::writeDependency);
+				if (i == 0 && !group.isEmpty()) {
+					writer.println();
+				}
 			}
-			writeDependencies(writer, dependencies, hasScope(DependencyScope.RUNTIME));
-			writeDependencies(writer, dependencies, hasScope(DependencyScope.COMPILE_ONLY));
-			writeDependencies(writer, dependencies, hasScope(DependencyScope.ANNOTATION_PROCESSOR));
-			writeDependencies(writer, dependencies, hasScope(DependencyScope.PROVIDED_RUNTIME));
-			writeDependencies(writer, dependencies,
-					hasScope(DependencyScope.TEST_COMPILE, DependencyScope.TEST_RUNTIME));
 		});
 	}
 
-	private Predicate<DependencyScope> hasScope(DependencyScope... validScopes) {
-		return (scope) -> Arrays.asList(validScopes).contains(scope);
-	}
-
-	private Collection<Dependency> writeDependencies(IndentingWriter writer, DependencyContainer dependencies,
-			Predicate<DependencyScope> filter) {
-		Collection<Dependency> candidates = dependencies.items().filter((dep) -> filter.test(dep.getScope()))
-				.sorted(DependencyComparator.INSTANCE).collect(Collectors.toList());
-		writeCollection(writer, candidates, this::writeDependency);
-		return candidates;
+	/**
+	 * Split the specified dependencies into {@link #DEPENDENCY_GROUPS} in a single pass,
+	 * each group being sorted.
+	 * @param dependencies the dependencies to group
+	 * @return the sorted dependencies of each group
+	 */
+	private List<List<Dependency>> groupDependencies(DependencyContainer dependencies) {
+		List<List<Dependency>> groups = new ArrayList<>(DEPENDENCY_GROUPS.length);
+		for (int i = 0; i < DEPENDENCY_GROUPS.length; i++) {
+			groups.add(new ArrayList<>());
+		}
+		dependencies.items().forEach((dependency) -> {
+			DependencyScope scope = dependency.getScope();
+			groups.get((scope != null) ? DEPENDENCY_GROUP_INDEX[scope.ordinal()] : 0).add(dependency);
+		});
+		for (List<Dependency> group : groups) {
+			group.sort(DependencyComparator.INSTANCE);
+		}
+		return groups;
 	}
 
 	private void writeDependency(IndentingWriter writer, Dependency dependency) {
@@ -308,6 +359,15 @@ public class MavenBuildWriter {
 	}
 
 	private void writeProfile(IndentingWriter writer, MavenProfile profile) {
+		if (profile.isShared()) {
+			writeFragment(writer, profile, this::renderProfile);
+		}
+		else {
+			renderProfile(writer, profile);
+		}
+	}
+
+	private void renderProfile(IndentingWriter writer, MavenProfile profile) {
 		if (!profile.isEmpty()) {
 			writeElement(writer, "profile", () -> {
 				writeSingleElement(writer, "id", profile.getId());
@@ -372,6 +432,15 @@ public class MavenBuildWriter {
 	}
 
 	private void writePlugin(IndentingWriter writer, MavenPlugin plugin) {
+		if (plugin.isShared()) {
+			writeFragment(writer, plugin, this::renderPlugin);
+		}
+		else {
+			renderPlugin(writer, plugin);
+		}
+	}
+
+	private void renderPlugin(IndentingWriter writer, MavenPlugin plugin) {
 		writeElement(writer, "plugin", () -> {
 			writeSingleElement(writer, "groupId", plugin.getGroupId());
 			writeSingleElement(writer, "artifactId", plugin.getArtifactId());
@@ -435,8 +504,13 @@ public class MavenBuildWriter {
 	}
 
 	private List<MavenRepository> filterRepositories(Stream<MavenRepository> repositories) {
-		return repositories.filter((repository) -> !MavenRepository.MAVEN_CENTRAL.equals(repository))
-				.collect(Collectors.toList());
+		List<MavenRepository> result = new ArrayList<>();
+		repositories.forEach((repository) -> {
+			if (!MavenRepository.MAVEN_CENTRAL.equals(repository)) {
+				result.add(repository);
+			}
+		});
+		return result;
 	}
 
 	private void writeRepository(IndentingWriter writer, MavenRepository repository) {
@@ -504,16 +578,32 @@ public class MavenBuildWriter {
 
 	private void writeSingleElement(IndentingWriter writer, String name, String text) {
 		if (text != null) {
-			writer.print(String.format("<%s>", name));
+			Tag tag = tag(name);
+			writer.print(tag.open);
 			writer.print(text);
-			writer.println(String.format("</%s>", name));
+			writer.println(tag.close);
 		}
 	}
 
 	private void writeElement(IndentingWriter writer, String name, Runnable withContent) {
-		writer.println(String.format("<%s>", name));
+		Tag tag = tag(name);
+		writer.println(tag.open);
 		writer.indented(withContent);
-		writer.println(String.format("</%s>", name));
+		writer.println(tag.close);
+	}
+
+	private <T> void writeFragment(IndentingWriter writer, T item, BiConsumer<IndentingWriter, T> itemWriter) {
+		Fragment fragment = FRAGMENTS.get(item);
+		if (fragment == null) {
+			fragment = Fragment.render(item, itemWriter);
+			FRAGMENTS.put(item, fragment);
+		}
+		fragment.writeTo(writer);
+	}
+
+	private static Tag tag(String name) {
+		Tag tag = TAGS.get(name);
+		return (tag != null) ? tag : TAGS.computeIfAbsent(name, Tag::new);
 	}
 
 	private <T> void writeCollectionElement(IndentingWriter writer, String name, Stream<T> items,
@@ -535,4 +625,92 @@ public class MavenBuildWriter {
 		}
 	}
 
+	/**
+	 * The lines of a rendered element, along with their nesting level relative to that
+	 * element. Lines are written again using the indentation of the target writer.
+	 */
+	private static final class Fragment {
+
+		private static final String LINE_SEPARATOR = System.lineSeparator();
+
+		private final String[] lines;
+
+		private final int[] levels;
+
+		private Fragment(String[] lines, int[] levels) {
+			this.lines = lines;
+			this.levels = levels;
+		}
+
+		/**
+		 * Render the specified item. Each level of indentation is rendered as a
+		 * {@code NUL} character, which cannot occur in an XML document.
+		 * @param item the item to render
+		 * @param itemWriter the writer of the item
+		 * @return the rendered fragment
+		 */
+		static <T> Fragment render(T item, BiConsumer<IndentingWriter, T> itemWriter) {
+			StringWriter out = new StringWriter();
+			itemWriter.accept(new IndentingWriter(out, (level) -> new String(new char[level])), item);
+			String content = out.toString();
+			List<String> lines = new ArrayList<>();
+			for (int start = 0, end; (end = content.indexOf(LINE_SEPARATOR, start)) != -1;
+					start = end + LINE_SEPARATOR.length()) {
+				lines.add(content.substring(start, end));
+			}
+			String[] text = new String[lines.size()];
+			int[] levels = new int[lines.size()];
+			int level = 0;
+			for (int i = 0; i < text.length; i++) {
+				String line = lines.get(i);
+				if (!line.isEmpty()) {
+					level = 0;
+					while (level < line.length() && line.charAt(level) == '\0') {
+						level++;
+					}
+				}
+				text[i] = line.isEmpty() ? line : line.substring(level);
+				levels[i] = level;
+			}
+			return new Fragment(text, levels);
+		}
+
+		void writeTo(IndentingWriter writer) {
+			writeLines(writer, 0, 0);
+		}
+
+		private int writeLines(IndentingWriter writer, int start, int level) {
+			int index = start;
+			while (index < this.lines.length && this.levels[index] >= level) {
+				if (this.levels[index] > level) {
+					int[] next = { index };
+					writer.indented(() -> next[0] = writeLines(writer, next[0], level + 1));
+					index = next[0];
+				}
+				else if (this.lines[index].isEmpty()) {
+					writer.println();
+					index++;
+				}
+				else {
+					writer.println(this.lines[index++]);
+				}
+			}
+			return index;
+		}
+
+	}
+
+	private static final class Tag {
+
+		private final String open;
+
+		private final String close;
+
+		private Tag(String name) {
+			this.open = "<" + name + ">";
+			this.close = "</" + name + ">";
+		}
+
+	}
+
 }
@@ -42,6 +42,8 @@ public class MavenPlugin {
 
 	private final Configuration configuration;
 
+	private final boolean shared;
+
 	protected MavenPlugin(Builder builder) {
 		this.groupId = builder.groupId;
 		this.artifactId = builder.artifactId;
@@ -51,6 +53,19 @@ public class MavenPlugin {
 				builder.executions.values().stream().map(ExecutionBuilder::build).collect(Collectors.toList()));
 		this.dependencies = Collections.unmodifiableList(new ArrayList<>(builder.dependencies));
 		this.configuration = (builder.configurationBuilder == null) ? null : builder.configurationBuilder.build();
+		this.shared = builder.shared;
+	}
+
+	/**
+	 * Create a {@link Builder} for a plugin that is not attached to a build. This is
+	 * typically used to declare an immutable plugin once and share it across builds.
+	 * @param groupId the group ID of the plugin
+	 * @param artifactId the artifact ID of the plugin
+	 * @return a builder for the plugin
+	 * @see MavenPluginContainer#add(MavenPlugin)
+	 */
+	public static Builder builder(String groupId, String artifactId) {
+		return new Builder(groupId, artifactId);
 	}
 
 	/**
@@ -110,6 +125,15 @@ public class MavenPlugin {
 		return this.configuration;
 	}
 
+	/**
+	 * Return whether this plugin was declared to be shared across builds.
+	 * @return {@code true} if this instance may be used by several builds
+	 * @see Builder#shared()
+	 */
+	boolean isShared() {
+		return this.shared;
+	}
+
 	/**
 	 * Builder for a {@link io.spring.initializr.generator.buildsystem.maven.MavenPlugin}.
 	 */
@@ -129,11 +153,64 @@ public class MavenPlugin {
 
 		private ConfigurationBuilder configurationBuilder;
 
+		private MavenPlugin plugin;
+
+		private boolean shared;
+
 		protected Builder(String groupId, String artifactId) {
 			this.groupId = groupId;
 			this.artifactId = artifactId;
 		}
 
+		Builder(MavenPlugin plugin) {
+			this(plugin.getGroupId(), plugin.getArtifactId());
+			this.plugin = plugin;
+		}
+
+		/**
+		 * Apply the state of the specified plugin to this builder: its version,
+		 * executions, dependencies and configuration are added to the current ones.
+		 * @param plugin the plugin to apply
+		 * @return this for method chaining
+		 */
+		Builder apply(MavenPlugin plugin) {
+			thaw();
+			if (plugin.getVersion() != null) {
+				this.version = plugin.getVersion();
+			}
+			this.extensions |= plugin.isExtensions();
+			for (Execution execution : plugin.getExecutions()) {
+				execution(execution.getId(), (builder) -> builder.apply(execution));
+			}
+			this.dependencies.addAll(plugin.getDependencies());
+			if (plugin.getConfiguration() != null) {
+				configuration((builder) -> builder.apply(plugin.getConfiguration()));
+			}
+			return this;
+		}
+
+		/**
+		 * Replace the pre-built plugin this builder was created with, if any, by the
+		 * equivalent state so that it can be further customized.
+		 */
+		private void thaw() {
+			MavenPlugin plugin = this.plugin;
+			if (plugin != null) {
+				this.plugin = null;
+				apply(plugin);
+			}
+		}
+
+		/**
+		 * Declare that the plugin is shared across builds. A shared plugin is never
+		 * modified once built, which allows its rendered form to be reused.
+		 * @return this for method chaining
+		 */
+		public Builder shared() {
+			this.shared = true;
+			return this;
+		}
+
 		/**
 		 * Set the version of the plugin or {@code null} if the version is managed by the
 		 * project.
@@ -141,6 +218,7 @@ public class MavenPlugin {
 		 * @return this for method chaining
 		 */
 		public Builder version(String version) {
+			thaw();
 			this.version = version;
 			return this;
 		}
@@ -151,6 +229,7 @@ public class MavenPlugin {
 		 * @return this for method chaining
 		 */
 		public Builder extensions(boolean extensions) {
+			thaw();
 			this.extensions = extensions;
 			return this;
 		}
@@ -161,6 +240,7 @@ public class MavenPlugin {
 		 * @return this for method chaining
 		 */
 		public Builder configuration(Consumer<ConfigurationBuilder> configuration) {
+			thaw();
 			if (this.configurationBuilder == null) {
 				this.configurationBuilder = new ConfigurationBuilder();
 			}
@@ -177,6 +257,7 @@ public class MavenPlugin {
 		 * @return this for method chaining
 		 */
 		public Builder execution(String id, Consumer<ExecutionBuilder> execution) {
+			thaw();
 			execution.accept(this.executions.computeIfAbsent(id, (key) -> new ExecutionBuilder(id)));
 			return this;
 		}
@@ -189,17 +270,19 @@ public class MavenPlugin {
 		 * @return this for method chaining
 		 */
 		public Builder dependency(String groupId, String artifactId, String version) {
+			thaw();
 			this.dependencies.add(new Dependency(groupId, artifactId, version));
 			return this;
 		}
 
 		/**
 		 * Build a {@link io.spring.initializr.generator.buildsystem.maven.MavenPlugin}
-		 * with the current state of this builder.
+		 * with the current state of this builder. If this builder was created for a
+		 * pre-built plugin that has not been customized since, that plugin is returned.
 		 * @return a {@link MavenBuild}
 		 */
 		public MavenPlugin build() {
-			return new MavenPlugin(this);
+			return (this.plugin != null) ? this.plugin : new MavenPlugin(this);
 		}
 
 	}
@@ -221,6 +304,16 @@ public class MavenPlugin {
 			this.id = id;
 		}
 
+		private void apply(Execution execution) {
+			if (execution.getPhase() != null) {
+				this.phase = execution.getPhase();
+			}
+			this.goals.addAll(execution.getGoals());
+			if (execution.getConfiguration() != null) {
+				configuration((builder) -> builder.apply(execution.getConfiguration()));
+			}
+		}
+
 		Execution build() {
 			return new Execution(this.id, this.phase, this.goals,
 					(this.configurationCustomization == null) ? null : this.configurationCustomization.build());
@@ -309,6 +402,21 @@ public class MavenPlugin {
 			return this;
 		}
 
+		@SuppressWarnings("unchecked")
+		private void apply(Configuration configuration) {
+			for (Setting setting : configuration.getSettings()) {
+				Object value = setting.getValue();
+				if (value instanceof List) {
+					ConfigurationBuilder nested = new ConfigurationBuilder();
+					nested.apply(new Configuration((List<Setting>) value));
+					add(setting.getName(), nested);
+				}
+				else {
+					add(setting.getName(), value);
+				}
+			}
+		}
+
 		/**
 		 * Build a {@link Configuration} with the current state of this builder.
 		 * @return a {@link Configuration}
@@ -82,6 +82,24 @@ public class MavenPluginContainer {
 		plugin.accept(addPlugin(groupId, artifactId));
 	}
 
+	/**
+	 * Add the specified pre-built {@link MavenPlugin}. The plugin is shared as is, unless
+	 * it is further customized using {@link #add(String, String, Consumer)}. If a plugin
+	 * with the same {@code groupId} and {@code artifactId} has already been added, the
+	 * state of the specified plugin is applied to it.
+	 * @param plugin the plugin to add
+	 */
+	public void add(MavenPlugin plugin) {
+		String key = pluginKey(plugin.getGroupId(), plugin.getArtifactId());
+		MavenPlugin.Builder existing = this.plugins.get(key);
+		if (existing != null) {
+			existing.apply(plugin);
+		}
+		else {
+			this.plugins.put(key, new MavenPlugin.Builder(plugin));
+		}
+	}
+
 	private MavenPlugin.Builder addPlugin(String groupId, String artifactId) {
 		return this.plugins.computeIfAbsent(pluginKey(groupId, artifactId),
 				(pluginId) -> new MavenPlugin.Builder(groupId, artifactId));
@@ -31,10 +31,13 @@ public class MavenProfile {
 
 	private final Activation activation;
 
+	private final boolean shared;
+
 	MavenProfile(Builder builder) {
 		this.id = builder.id;
 		this.mavenBuild = builder.mavenBuild;
 		this.activation = (builder.activation == null) ? null : builder.activation.build();
+		this.shared = builder.shared;
 	}
 
 	public boolean isEmpty() {
@@ -57,6 +60,15 @@ public class MavenProfile {
 		return this.activation;
 	}
 
+	/**
+	 * Return whether this profile was declared to be shared across builds.
+	 * @return {@code true} if this instance may be used by several builds
+	 * @see Builder#shared()
+	 */
+	boolean isShared() {
+		return this.shared;
+	}
+
 	public static class Builder {
 
 		private String id;
@@ -65,11 +77,19 @@ public class MavenProfile {
 
 		private Activation.Builder activation = new Activation.Builder();
 
+		private boolean shared;
+
 		public Builder id(String id) {
 			this.id = id;
 			return this;
 		}
 
+		/**
+		 * Set the build of the profile. A profile that is shared across builds must not
+		 * have its build modified once it has been built.
+		 * @param build the build of the profile
+		 * @return this for method chaining
+		 */
 		public Builder mavenBuild(MavenBuild build) {
 			this.mavenBuild = build;
 			return this;
@@ -85,6 +105,16 @@ public class MavenProfile {
 			return this;
 		}
 
+		/**
+		 * Declare that the profile is shared across builds. Neither the profile nor its
+		 * build are modified once built, which allows its rendered form to be reused.
+		 * @return this for method chaining
+		 */
+		public Builder shared() {
+			this.shared = true;
+			return this;
+		}
+
 		public MavenProfile build() {
 			return new MavenProfile(this);
 		}
@@ -25,10 +25,6 @@ import io.spring.initializr.metadata.InitializrConfiguration.Env.Maven.ParentPom
 import io.spring.initializr.metadata.InitializrMetadata;
 import io.spring.initializr.metadata.support.MetadataBuildItemMapper;
 import io.spring.start.site.buildsystem.maven2.MavenBuild;
-import io.spring.start.site.buildsystem.maven2.MavenProfile;
-import io.spring.start.site.buildsystem.maven2.MavenPlugin;
-
-import java.util.function.Consumer;
 
 /**
  * The default {@link Maven} {@link BuildCustomizer}.
@@ -50,7 +46,7 @@ public class DefaultMavenBuildCustomizer implements BuildCustomizer<MavenBuild>
 	public void customize(MavenBuild build) {
 		build.settings().name(this.description.getName()).description(this.description.getDescription());
 		build.properties().property("java.version", this.description.getLanguage().jvmVersion());
-		build.plugins().add("org.springframework.boot", "spring-boot-maven-plugin");
+		build.plugins().add(MavenBuildFragments.SPRING_BOOT_PLUGIN);
 
 		Maven maven = this.metadata.getConfiguration().getEnv().getMaven();
 		String springBootVersion = this.description.getPlatformVersion().toString();
@@ -72,80 +68,12 @@ public class DefaultMavenBuildCustomizer implements BuildCustomizer<MavenBuild>
 
 		// tests
 
-		build.plugins().add("org.apache.maven.plugins", "maven-failsafe-plugin", failsafePlugin -> {
-			failsafePlugin.version("2.22.2");
-			failsafePlugin.configuration(
-					config -> config.add("argLine", "-Ddb-host=${docker.container.db.ip} -Duse-datasource=true"));
-		});
-		build.plugins().add("org.apache.maven.plugins", "maven-surefire-plugin", surefirePlugin -> {
-			surefirePlugin.version("2.22.2");
-			surefirePlugin.configuration(config -> config.configure("excludes", excludes -> {
-				excludes.add("exclude", "**/*Tests.java");
-			}));
-		});
-
-		Consumer<MavenPlugin.Builder> dockerPluginConsumer = dockerPlugin -> {
-			dockerPlugin.version("0.33.0");
-			dockerPlugin.configuration(config -> config.configure("images", images -> {
-				images.configure("image", image -> {
-					image.add("name", "postgres:10");
-					image.add("alias", "db");
-					image.configure("run", run -> {
-						run.add("namingStrategy", "alias");
-						run.configure("env", env -> {
-							env.add("POSTGRES_DB", build.getSettings().getName() + "-db");
-							env.add("POSTGRES_USER", "porta");
-							env.add("POSTGRES_PASSWORD", "porta");
-						});
-						run.configure("ports", port -> port.add("port", "5432:5432"));
-						run.configure("wait", wait -> {
-							wait.configure("tcp", tcp -> tcp.configure("ports", port -> port.add("port", "5432")));
-							wait.add("time", "20000");
-						});
-						run.configure("log", log -> log.add("color", "green"));
-					});
-				});
-			}));
-			dockerPlugin.execution("start",
-					execution -> execution.phase("pre-integration-test").goal("stop").goal("start"));
-			dockerPlugin.execution("stop", execution -> execution.phase("post-integration-test").goal("stop"));
-		};
-
-		MavenBuild postgresProfileBuild = new MavenBuild();
-		postgresProfileBuild.plugins().add("io.fabric8", "docker-maven-plugin", dockerPluginConsumer);
-		MavenProfile postgresProfile = new MavenProfile.Builder().id("pg-docker")
-				.activation(a -> a.activeByDefault(false)).mavenBuild(postgresProfileBuild).build();
-		build.buildProfiles().add(postgresProfile);
+		build.plugins().add(MavenBuildFragments.FAILSAFE_PLUGIN);
+		build.plugins().add(MavenBuildFragments.SUREFIRE_PLUGIN);
+		build.buildProfiles().add(MavenBuildFragments.postgresProfile(build.getSettings().getName()));
 
 		// hardcoded 4 starter2 template
-		String packageName = description.getPackageName();
-		MavenBuild codeGenApiBuild = new MavenBuild();
-		Consumer<MavenPlugin.Builder> swaggerCodeGenConsumer = swaggerCodeGenPlugin -> {
-			swaggerCodeGenPlugin.version("3.0.8");
-			swaggerCodeGenPlugin.execution("generate-model", exec -> {
-				exec.goal("generate");
-				exec.configuration(config -> config.add("inputSpec", "${basedir}/src/main/resources/api/swagger.yml")
-						.add("output", "${basedir}/target/generated-sources").add("language", "spring")
-						.add("modelPackage", packageName + ".api.controller.dto")
-						.add("generateSupportingFiles", "false").add("generateModels", "true")
-						.add("generateApis", "false").configure("configOptions", options -> options
-								.add("dateLibrary", "java8").add("java8", "true").add("library", "spring-boot")));
-			});
-			swaggerCodeGenPlugin.execution("generate-api", exec -> {
-				exec.goal("generate");
-				exec.configuration(config -> config.add("inputSpec", "${basedir}/src/main/resources/api/swagger.yml")
-						.add("output", "${basedir}/target/generated-sources").add("language", "spring")
-						.add("modelPackage", packageName + ".api.controller.dto")
-						.add("apiPackage", packageName + ".generated.api").add("generateSupportingFiles", "false")
-						.add("generateModels", "false").add("generateApis", "true").add("generateApiTests", "false")
-						.configure("configOptions", options -> options.add("interfaceOnly", "true")
-								.add("java8", "false").add("library", "spring-boot").add("useTags", "true")));
-			});
-		};
-		codeGenApiBuild.plugins().add("io.swagger.codegen.v3", "swagger-codegen-maven-plugin", swaggerCodeGenConsumer);
-		MavenProfile codeGenProfile = new MavenProfile.Builder().id("code-generation-api")
-				.activation(a -> a.activeByDefault(false)).mavenBuild(codeGenApiBuild).build();
-		build.buildProfiles().add(codeGenProfile);
+		build.buildProfiles().add(MavenBuildFragments.codeGenerationProfile(this.description.getPackageName()));
 	}
 
 	private boolean hasBom(MavenBuild build, BillOfMaterials bom) {
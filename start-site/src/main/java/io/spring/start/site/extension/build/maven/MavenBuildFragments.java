@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.build.maven;
+
+import io.spring.start.site.buildsystem.maven2.MavenBuild;
+import io.spring.start.site.buildsystem.maven2.MavenPlugin;
+import io.spring.start.site.buildsystem.maven2.MavenProfile;
+
+/**
+ * {@link MavenPlugin Plugins} and {@link MavenProfile profiles} that are contributed to
+ * every Maven build. Plugins that do not depend on the project are built once and shared:
+ * a shared plugin is only copied if a build customizes it further. Fragments that depend
+ * on a setting of the project, e.g. its name or its package, are built for each build,
+ * the docker plugin they use being customized from a shared skeleton.
+ */
+final class MavenBuildFragments {
+
+	private static final String DOCKER_IMAGE = "postgres:10";
+
+	private static final String DOCKER_PLUGIN_GROUP_ID = "io.fabric8";
+
+	private static final String DOCKER_PLUGIN_ARTIFACT_ID = "docker-maven-plugin";
+
+	private static final String SWAGGER_SPEC = "${basedir}/src/main/resources/api/swagger.yml";
+
+	static final MavenPlugin SPRING_BOOT_PLUGIN = MavenPlugin
+			.builder("org.springframework.boot", "spring-boot-maven-plugin").shared().build();
+
+	static final MavenPlugin FAILSAFE_PLUGIN = MavenPlugin.builder("org.apache.maven.plugins", "maven-failsafe-plugin")
+			.version("2.22.2")
+			.configuration((config) -> config.add("argLine",
+					"-Ddb-host=${docker.container.db.ip} -Duse-datasource=true"))
+			.shared().build();
+
+	static final MavenPlugin SUREFIRE_PLUGIN = MavenPlugin.builder("org.apache.maven.plugins", "maven-surefire-plugin")
+			.version("2.22.2")
+			.configuration((config) -> config.configure("excludes",
+					(excludes) -> excludes.add("exclude", "**/*Tests.java")))
+			.shared().build();
+
+	static final MavenPlugin DEPLOY_PLUGIN = MavenPlugin.builder("org.apache.maven.plugins", "maven-deploy-plugin")
+			.configuration((config) -> config.add("skip", "true")).shared().build();
+
+	static final MavenPlugin DOCKERFILE_PLUGIN = MavenPlugin.builder("com.spotify", "dockerfile-maven-plugin")
+			.version("1.4.8")
+			.execution("package", (execution) -> execution.goal("build").goal("tag").phase("package"))
+			.execution("deploy", (execution) -> execution.goal("push").phase("deploy"))
+			.configuration((config) -> config.add("repository", "${project.artifactId}"))
+			.configuration((config) -> config.add("tag", "${project.version}"))
+			.configuration((config) -> config.configure("buildArgs",
+					(args) -> args.add("JAR_FILE", "target/${project.artifactId}-${project.version}.jar")))
+			.shared().build();
+
+	private static final MavenPlugin DOCKER_PLUGIN = MavenPlugin
+			.builder(DOCKER_PLUGIN_GROUP_ID, DOCKER_PLUGIN_ARTIFACT_ID).version("0.33.0")
+			.execution("start", (execution) -> execution.phase("pre-integration-test").goal("stop").goal("start"))
+			.execution("stop", (execution) -> execution.phase("post-integration-test").goal("stop")).shared().build();
+
+	private MavenBuildFragments() {
+	}
+
+	/**
+	 * Return the {@code pg-docker} profile that starts a database for the integration
+	 * tests of the specified project.
+	 * @param projectName the name of the project
+	 * @return the postgres profile
+	 */
+	static MavenProfile postgresProfile(String projectName) {
+		MavenBuild build = new MavenBuild();
+		build.plugins().add(DOCKER_PLUGIN);
+		build.plugins().add(DOCKER_PLUGIN_GROUP_ID, DOCKER_PLUGIN_ARTIFACT_ID,
+				(plugin) -> plugin.configuration((config) -> config.configure("images",
+						(images) -> images.configure("image", (image) -> {
+							image.add("name", DOCKER_IMAGE);
+							image.add("alias", "db");
+							image.configure("run", (run) -> {
+								run.add("namingStrategy", "alias");
+								run.configure("env", (env) -> postgresEnvironment(env, projectName));
+								run.configure("ports", (port) -> port.add("port", "5432:5432"));
+								run.configure("wait", MavenBuildFragments::postgresWait);
+								run.configure("log", (log) -> log.add("color", "green"));
+							});
+						}))));
+		return new MavenProfile.Builder().id("pg-docker").activation((activation) -> activation.activeByDefault(false))
+				.mavenBuild(build).build();
+	}
+
+	/**
+	 * Add the {@code docker-maven-plugin} that starts a database for the integration
+	 * tests of the specified project to the specified build.
+	 * @param build the build to customize
+	 * @param projectName the name of the project
+	 */
+	static void addPostgresPlugin(MavenBuild build, String projectName) {
+		build.plugins().add(DOCKER_PLUGIN);
+		build.plugins().add(DOCKER_PLUGIN_GROUP_ID, DOCKER_PLUGIN_ARTIFACT_ID,
+				(plugin) -> plugin.configuration((config) -> config.configure("images",
+						(images) -> images.add("image", new MavenPlugin.ConfigurationBuilder().add("name", DOCKER_IMAGE)
+								.add("alias", "db").configure("run", (run) -> {
+									run.add("namingStrategy", "alias");
+									run.configure("env", (env) -> postgresEnvironment(env, projectName));
+									run.configure("wait", MavenBuildFragments::postgresWait);
+									run.configure("log", (log) -> log.add("color", "cyan"));
+								})))));
+	}
+
+	private static void postgresEnvironment(MavenPlugin.ConfigurationBuilder env, String projectName) {
+		env.add("POSTGRES_DB", projectName + "-db");
+		env.add("POSTGRES_USER", "porta");
+		env.add("POSTGRES_PASSWORD", "porta");
+	}
+
+	private static void postgresWait(MavenPlugin.ConfigurationBuilder wait) {
+		wait.configure("tcp", (tcp) -> tcp.configure("ports", (port) -> port.add("port", "5432")));
+		wait.add("time", "20000");
+	}
+
+	/**
+	 * Return the {@code code-generation-api} profile that generates the api of a project
+	 * using the specified base package.
+	 * @param packageName the base package of the project
+	 * @return the code generation profile
+	 */
+	static MavenProfile codeGenerationProfile(String packageName) {
+		MavenBuild build = new MavenBuild();
+		build.plugins().add(MavenPlugin.builder("io.swagger.codegen.v3", "swagger-codegen-maven-plugin")
+				.version("3.0.8").execution("generate-model", (execution) -> {
+					execution.goal("generate");
+					execution.configuration((config) -> config.add("inputSpec", SWAGGER_SPEC)
+							.add("output", "${basedir}/target/generated-sources").add("language", "spring")
+							.add("modelPackage", packageName + ".api.controller.dto")
+							.add("generateSupportingFiles", "false").add("generateModels", "true")
+							.add("generateApis", "false").configure("configOptions", (options) -> options
+									.add("dateLibrary", "java8").add("java8", "true").add("library", "spring-boot")));
+				}).execution("generate-api", (execution) -> {
+					execution.goal("generate");
+					execution.configuration((config) -> config.add("inputSpec", SWAGGER_SPEC)
+							.add("output", "${basedir}/target/generated-sources").add("language", "spring")
+							.add("modelPackage", packageName + ".api.controller.dto")
+							.add("apiPackage", packageName + ".generated.api").add("generateSupportingFiles", "false")
+							.add("generateModels", "false").add("generateApis", "true").add("generateApiTests", "false")
+							.configure("configOptions", (options) -> options.add("interfaceOnly", "true")
+									.add("java8", "false").add("library", "spring-boot").add("useTags", "true")));
+				}).build());
+		return new MavenProfile.Builder().id("code-generation-api")
+				.activation((activation) -> activation.activeByDefault(false)).mavenBuild(build).build();
+	}
+
+}
@@ -22,10 +22,13 @@ import io.spring.initializr.generator.io.IndentingWriterFactory;
 import io.spring.initializr.generator.project.contributor.ProjectContributor;
 import io.spring.start.site.buildsystem.maven2.MavenBuild;
 import io.spring.start.site.buildsystem.maven2.MavenBuildWriter;
+import io.spring.start.site.generation.ProjectOutputHolder;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 
 public class MavenBuildProjectContributor implements BuildWriter, ProjectContributor {
@@ -44,8 +47,11 @@ public class MavenBuildProjectContributor implements BuildWriter, ProjectContrib
 
 	@Override
 	public void contribute(Path projectRoot) throws IOException {
-		Path pomFile = Files.createFile(projectRoot.resolve("pom.xml"));
-		writeBuild(Files.newBufferedWriter(pomFile));
+		ByteArrayOutputStream content = new ByteArrayOutputStream(8192);
+		try (Writer out = new OutputStreamWriter(content, StandardCharsets.UTF_8)) {
+			writeBuild(out);
+		}
+		ProjectOutputHolder.getProjectOutput().write(projectRoot.resolve("pom.xml"), content.toByteArray(), false);
 	}
 
 	@Override
@@ -19,9 +19,6 @@ package io.spring.start.site.extension.build.maven;
 import io.spring.initializr.generator.packaging.jar.JarPackaging;
 import io.spring.initializr.generator.spring.build.BuildCustomizer;
 import io.spring.start.site.buildsystem.maven2.MavenBuild;
-import io.spring.start.site.buildsystem.maven2.MavenPlugin;
-
-import java.util.function.Consumer;
 
 /**
  * A {@link BuildCustomizer} that automatically adds {@code spring-security-test} when
@@ -32,43 +29,10 @@ public class MavenDockerBuildCustomizer implements BuildCustomizer<MavenBuild> {
 	@Override
 	public void customize(MavenBuild build) {
 		build.settings().packaging(JarPackaging.ID);
-		build.plugins().add("org.springframework.boot", "spring-boot-maven-plugin");
-		build.plugins().add("org.apache.maven.plugins", "maven-deploy-plugin",
-				mavenDeployPlugin -> mavenDeployPlugin.configuration(config -> config.add("skip", "true")));
-		build.plugins().add("com.spotify", "dockerfile-maven-plugin", dockerFilePlugin -> {
-			dockerFilePlugin.version("1.4.8");
-			dockerFilePlugin.execution("package", execution -> execution.goal("build").goal("tag").phase("package"));
-			dockerFilePlugin.execution("deploy", execution -> execution.goal("push").phase("deploy"));
-			String jarFile = "target/${project.artifactId}-${project.version}.jar";
-			dockerFilePlugin.configuration(config -> config.add("repository", "${project.artifactId}"));
-			dockerFilePlugin.configuration(config -> config.add("tag", "${project.version}"));
-			dockerFilePlugin
-					.configuration(config -> config.configure("buildArgs", args -> args.add("JAR_FILE", jarFile)));
-		});
-
-		Consumer<MavenPlugin.Builder> dockerPluginConsumer = dockerPlugin -> {
-			dockerPlugin.version("0.33.0");
-			dockerPlugin.configuration(config -> config.configure("images",
-					images -> images.add("image", new MavenPlugin.ConfigurationBuilder().add("name", "postgres:10")
-							.add("alias", "db").configure("run", run -> {
-								run.add("namingStrategy", "alias");
-								run.configure("env", env -> {
-									env.add("POSTGRES_DB", build.getSettings().getName() + "-db");
-									env.add("POSTGRES_USER", "porta");
-									env.add("POSTGRES_PASSWORD", "porta");
-								});
-								run.configure("wait", wait -> {
-									wait.configure("tcp",
-											tcp -> tcp.configure("ports", port -> port.add("port", "5432")));
-									wait.add("time", "20000");
-								});
-								run.configure("log", log -> log.add("color", "cyan"));
-							}))));
-			dockerPlugin.execution("start",
-					execution -> execution.phase("pre-integration-test").goal("stop").goal("start"));
-			dockerPlugin.execution("stop", execution -> execution.phase("post-integration-test").goal("stop"));
-		};
-		build.plugins().add("io.fabric8", "docker-maven-plugin", dockerPluginConsumer);
+		build.plugins().add(MavenBuildFragments.SPRING_BOOT_PLUGIN);
+		build.plugins().add(MavenBuildFragments.DEPLOY_PLUGIN);
+		build.plugins().add(MavenBuildFragments.DOCKERFILE_PLUGIN);
+		MavenBuildFragments.addPostgresPlugin(build, build.getSettings().getName());
 	}
 
 }
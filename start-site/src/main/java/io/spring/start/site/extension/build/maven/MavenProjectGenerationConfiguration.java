@@ -33,6 +33,7 @@ import io.spring.initializr.generator.version.VersionReference;
 import io.spring.initializr.metadata.InitializrMetadata;
 import io.spring.start.site.buildsystem.maven2.MavenBuild;
 import io.spring.start.site.buildsystem.maven2.MavenBuildSystem;
+import io.spring.start.site.generation.StaticResources;
 import io.spring.start.site.packaging.docker.DockerPackaging;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
@@ -73,8 +74,8 @@ class MavenProjectGenerationConfiguration {
 	}
 
 	@Bean
-	public MavenWrapperContributor mavenWrapperContributor() {
-		return new MavenWrapperContributor();
+	public MavenWrapperContributor mavenWrapperContributor(StaticResources staticResources) {
+		return new MavenWrapperContributor(staticResources);
 	}
 
 	@Bean
@@ -16,18 +16,39 @@
 
 package io.spring.start.site.extension.build.maven;
 
-import io.spring.initializr.generator.project.contributor.MultipleResourcesProjectContributor;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.start.site.generation.ProjectOutput;
+import io.spring.start.site.generation.ProjectOutputHolder;
+import io.spring.start.site.generation.StaticResource;
+import io.spring.start.site.generation.StaticResources;
 
 /**
- * A {@link MultipleResourcesProjectContributor} that contributes Maven's wrapper to a
- * project.
+ * A {@link ProjectContributor} that contributes Maven's wrapper to a project.
  *
  * @author Andy Wilkinson
  */
-class MavenWrapperContributor extends MultipleResourcesProjectContributor {
+class MavenWrapperContributor implements ProjectContributor {
+
+	private static final String ROOT_RESOURCE = "classpath:maven/wrapper";
+
+	private final StaticResources staticResources;
+
+	MavenWrapperContributor(StaticResources staticResources) {
+		this.staticResources = staticResources;
+	}
 
-	MavenWrapperContributor() {
-		super("classpath:maven/wrapper", (filename) -> filename.equals("mvnw") || filename.equals("mvnw.cmd"));
+	@Override
+	public void contribute(Path projectRoot) throws IOException {
+		ProjectOutput output = ProjectOutputHolder.getProjectOutput();
+		for (Map.Entry<String, StaticResource> entry : this.staticResources.getDirectory(ROOT_RESOURCE).entrySet()) {
+			String filename = entry.getKey();
+			output.write(projectRoot.resolve(filename), entry.getValue(),
+					filename.equals("mvnw") || filename.equals("mvnw.cmd"));
+		}
 	}
 
 }
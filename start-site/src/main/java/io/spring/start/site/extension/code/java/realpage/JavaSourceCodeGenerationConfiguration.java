@@ -16,10 +16,12 @@
 
 package io.spring.start.site.extension.code.java.realpage;
 
-import io.spring.initializr.generator.io.template.TemplateRenderer;
 import io.spring.initializr.generator.project.ProjectDescription;
 import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
 import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.start.site.generation.StaticResources;
+import io.spring.start.site.support.PrecompiledTemplateRenderer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 
 @ProjectGenerationConfiguration
@@ -29,18 +31,24 @@ public class JavaSourceCodeGenerationConfiguration {
 
 	private final ProjectDescription description;
 
-	private final TemplateRenderer templateRenderer;
+	private final PrecompiledTemplateRenderer templateRenderer;
+
+	private final TemplateIndex templateIndex;
 
 	public JavaSourceCodeGenerationConfiguration(InitializrMetadata metadata, ProjectDescription description,
-			TemplateRenderer templateRenderer) {
+			PrecompiledTemplateRenderer templateRenderer, TemplateIndex templateIndex) {
 		this.metadata = metadata;
 		this.description = description;
 		this.templateRenderer = templateRenderer;
+		this.templateIndex = templateIndex;
 	}
 
 	@Bean
-	public JavaTemplatesContributor javaTemplatesContributor() {
-		return new JavaTemplatesContributor(templateRenderer, description);
+	public JavaTemplatesContributor javaTemplatesContributor(StaticResources staticResources,
+			ObjectProvider<TemplateRenderingExecutor> executor) {
+		TemplateRenderingExecutor renderingExecutor = executor.getIfAvailable();
+		return new JavaTemplatesContributor(templateRenderer::render, description, templateIndex, staticResources,
+				(renderingExecutor != null) ? renderingExecutor.getExecutor() : null);
 	}
 
 }
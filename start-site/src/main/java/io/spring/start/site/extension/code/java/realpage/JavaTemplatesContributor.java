@@ -20,21 +20,25 @@ import io.spring.initializr.generator.io.template.TemplateRenderer;
 import io.spring.initializr.generator.language.SourceStructure;
 import io.spring.initializr.generator.project.ProjectDescription;
 import io.spring.initializr.generator.project.contributor.ProjectContributor;
-import io.spring.initializr.generator.project.contributor.SingleResourceProjectContributor;
+import io.spring.start.site.generation.ProjectOutput;
+import io.spring.start.site.generation.ProjectOutputHolder;
+import io.spring.start.site.generation.ProjectStatistics;
+import io.spring.start.site.generation.StaticResources;
 import io.spring.start.site.packaging.docker.DockerPackaging;
-import org.springframework.util.StreamUtils;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.net.URISyntaxException;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class JavaTemplatesContributor implements ProjectContributor {
 
@@ -42,128 +46,186 @@ public class JavaTemplatesContributor implements ProjectContributor {
 
 	private final ProjectDescription description;
 
-	JavaTemplatesContributor(TemplateRenderer templateRenderer, ProjectDescription description) {
+	private final TemplateIndex templateIndex;
+
+	private final StaticResources staticResources;
+
+	private final Executor executor;
+
+	/**
+	 * Create a new instance.
+	 * @param templateRenderer the renderer to use
+	 * @param description the description of the project
+	 * @param templateIndex the index of the available templates
+	 * @param staticResources the static resources to copy
+	 * @param executor the executor to render templates in parallel, or {@code null} to
+	 * render them sequentially
+	 */
+	JavaTemplatesContributor(TemplateRenderer templateRenderer, ProjectDescription description,
+			TemplateIndex templateIndex, StaticResources staticResources, Executor executor) {
 		this.templateRenderer = templateRenderer;
 		this.description = description;
+		this.templateIndex = templateIndex;
+		this.staticResources = staticResources;
+		this.executor = executor;
+	}
+
+	private void write(ProjectWrites writes, Path target, String templateName, Map<String, Object> model) {
+		write(writes, target, templateName, model, false);
+	}
+
+	private void write(ProjectWrites writes, Path target, String templateName, Map<String, Object> model,
+			boolean executable) {
+		writes.directories.add(target.getParent());
+		writes.tasks.add(() -> {
+			byte[] content = render(templateName, model);
+			if (writes.statistics != null) {
+				writes.statistics.recordTemplate(templateName, content.length);
+			}
+			writeContent(writes.output, target, content, executable);
+		});
+	}
+
+	private void writeAll(ProjectWrites writes) throws IOException {
+		if (this.executor == null) {
+			writes.tasks.forEach(Runnable::run);
+			return;
+		}
+		for (Path directory : writes.directories) {
+			writes.output.createDirectories(directory);
+		}
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		List<CompletableFuture<?>> futures = new ArrayList<>();
+		for (Runnable write : writes.tasks) {
+			try {
+				futures.add(CompletableFuture.runAsync(() -> writeUnlessFailed(write, failure), this.executor));
+			}
+			catch (RejectedExecutionException ex) {
+				writeUnlessFailed(write, failure);
+			}
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+		if (failure.get() != null) {
+			throw failure.get();
+		}
 	}
 
-	private void write(File target, String templateName, Map<String, Object> model) throws IOException {
-		String body = templateRenderer.render(templateName, model);
-		writeText(target, body);
+	private void writeUnlessFailed(Runnable write, AtomicReference<RuntimeException> failure) {
+		if (failure.get() != null) {
+			return;
+		}
+		try {
+			write.run();
+		}
+		catch (RuntimeException ex) {
+			failure.compareAndSet(null, ex);
+		}
 	}
 
-	private void writeText(File target, String body) {
-		try (OutputStream stream = new FileOutputStream(target)) {
-			StreamUtils.copy(body, StandardCharsets.UTF_8, stream);
+	private byte[] render(String templateName, Map<String, Object> model) {
+		try {
+			return this.templateRenderer.render(templateName, model).getBytes(StandardCharsets.UTF_8);
+		}
+		catch (Exception e) {
+			throw new IllegalStateException("Cannot render template " + templateName, e);
+		}
+	}
+
+	private void writeContent(ProjectOutput output, Path target, byte[] content, boolean executable) {
+		try {
+			output.write(target, content, executable);
 		}
 		catch (Exception e) {
 			throw new IllegalStateException("Cannot write file " + target, e);
 		}
 	}
 
+	private void copy(ProjectOutput output, Path target, String location) throws IOException {
+		output.write(target, this.staticResources.getResource(location), false);
+	}
+
 	@Override
 	public void contribute(Path projectRoot) throws IOException {
 		SourceStructure mainSource = description.getBuildSystem().getMainSource(projectRoot, description.getLanguage());
 		Map<String, Object> model = resolveModel();
 
 		String projectTemplateName = "starter2"; // now it's hardcoded
-		contributeProjectTemplates(projectTemplateName, projectRoot, mainSource, model);
+		ProjectStatistics statistics = ProjectStatistics.current();
+		if (statistics != null) {
+			statistics.setTemplateSet(projectTemplateName);
+		}
+		ProjectWrites writes = new ProjectWrites(ProjectOutputHolder.getProjectOutput(), statistics);
+		contributeProjectTemplates(projectTemplateName, projectRoot, mainSource, model, writes);
+		writeAll(writes);
 	}
 
 	private void contributeProjectTemplates(String projectTemplateName, Path projectRoot, SourceStructure mainSource,
-			Map<String, Object> model) throws IOException {
+			Map<String, Object> model, ProjectWrites writes) throws IOException {
+		String packageName = model.get("packageName").toString();
 		if (Boolean.TRUE.equals(model.get("useSwagger2"))) {
-			write(new File(mainSource.createSourceFile(model.get("packageName") + ".configuration", "SwaggerConfig")
-					.toString()), projectTemplateName + "/src/main/java/configuration/SwaggerConfig.java", model);
-			write(new File(
-					mainSource.createSourceFile(model.get("packageName").toString(), "HomeController").toString()),
+			write(writes, mainSource.resolveSourceFile(packageName + ".configuration", "SwaggerConfig"),
+					projectTemplateName + "/src/main/java/configuration/SwaggerConfig.java", model);
+			write(writes, mainSource.resolveSourceFile(packageName, "HomeController"),
 					projectTemplateName + "/src/main/java/HomeController.java", model);
 		}
 		if (Boolean.TRUE.equals(model.get("useSecurity")) && Boolean.TRUE.equals(model.get("useJwt"))) {
-			write(new File(mainSource.createSourceFile(model.get("packageName") + ".configuration", "SecurityConfig")
-					.toString()), projectTemplateName + "/src/main/java/configuration/SecurityConfig.java", model);
-			write(new File(
-					mainSource.createSourceFile(model.get("packageName") + ".security", "JwtConfigurer").toString()),
+			write(writes, mainSource.resolveSourceFile(packageName + ".configuration", "SecurityConfig"),
+					projectTemplateName + "/src/main/java/configuration/SecurityConfig.java", model);
+			write(writes, mainSource.resolveSourceFile(packageName + ".security", "JwtConfigurer"),
 					projectTemplateName + "/src/main/java/security/JwtConfigurer.java", model);
-			write(new File(
-					mainSource.createSourceFile(model.get("packageName") + ".security", "JwtTokenFilter").toString()),
+			write(writes, mainSource.resolveSourceFile(packageName + ".security", "JwtTokenFilter"),
 					projectTemplateName + "/src/main/java/security/JwtTokenFilter.java", model);
-			write(new File(
-					mainSource.createSourceFile(model.get("packageName") + ".security", "JwtTokenProvider").toString()),
+			write(writes, mainSource.resolveSourceFile(packageName + ".security", "JwtTokenProvider"),
 					projectTemplateName + "/src/main/java/security/JwtTokenProvider.java", model);
-			write(new File(
-					mainSource.createSourceFile(model.get("packageName") + ".security", "AppMDCFilter").toString()),
+			write(writes, mainSource.resolveSourceFile(packageName + ".security", "AppMDCFilter"),
 					projectTemplateName + "/src/main/java/security/AppMDCFilter.java", model);
 		}
-		write(new File(mainSource.createSourceFile(model.get("packageName") + ".configuration", "ApplicationConfig")
-				.toString()), projectTemplateName + "/src/main/java/configuration/ApplicationConfig.java", model);
-		try {
-			copyCommonSources(projectTemplateName + "/src/main/java/api", mainSource, model,
-					projectTemplateName + ".src.main.java");
-			copyCommonSources(projectTemplateName + "/src/test/java",
-					description.getBuildSystem().getTestSource(projectRoot, description.getLanguage()), model,
-					projectTemplateName + ".src.test.java");
-		}
-		catch (URISyntaxException e) {
-			e.printStackTrace();
-		}
-		SingleResourceProjectContributor contributor = new SingleResourceProjectContributor(
-				"src/main/resources/keystore.p12", "classpath:configuration/keystore.p12");
-		contributor.contribute(projectRoot);
+		write(writes, mainSource.resolveSourceFile(packageName + ".configuration", "ApplicationConfig"),
+				projectTemplateName + "/src/main/java/configuration/ApplicationConfig.java", model);
+		copyCommonSources(projectTemplateName + "/src/main/java/api", mainSource, model,
+				projectTemplateName + ".src.main.java", writes);
+		copyCommonSources(projectTemplateName + "/src/test/java",
+				description.getBuildSystem().getTestSource(projectRoot, description.getLanguage()), model,
+				projectTemplateName + ".src.test.java", writes);
+		copy(writes.output, projectRoot.resolve("src/main/resources/keystore.p12"),
+				"classpath:configuration/keystore.p12");
 
 		if (Boolean.TRUE.equals(model.get("useLiquibase"))) {
-			write(new File(mainSource.createSourceFile(model.get("packageName") + ".configuration", "DataSourceConfig")
-					.toString()), projectTemplateName + "/src/main/java/configuration/DataSourceConfig.java", model);
-			SingleResourceProjectContributor contributorDb = new SingleResourceProjectContributor(
-					"src/main/resources/db/changelog/db.changelog-master.yaml",
+			write(writes, mainSource.resolveSourceFile(packageName + ".configuration", "DataSourceConfig"),
+					projectTemplateName + "/src/main/java/configuration/DataSourceConfig.java", model);
+			copy(writes.output, projectRoot.resolve("src/main/resources/db/changelog/db.changelog-master.yaml"),
 					"classpath:configuration/db.changelog-master.yaml");
-			contributorDb.contribute(projectRoot);
-			SingleResourceProjectContributor contributorMg = new SingleResourceProjectContributor(
-					"src/main/resources/db/changelog/migration/FillCompanies.sql",
+			copy(writes.output, projectRoot.resolve("src/main/resources/db/changelog/migration/FillCompanies.sql"),
 					"classpath:configuration/FillCompanies.sql");
-			contributorMg.contribute(projectRoot);
 		}
 
-		SingleResourceProjectContributor contributorStatic = new SingleResourceProjectContributor(
-				"src/main/resources/static/oauth2-redirect.html", "classpath:configuration/oauth2-redirect.html");
-		contributorStatic.contribute(projectRoot);
+		copy(writes.output, projectRoot.resolve("src/main/resources/static/oauth2-redirect.html"),
+				"classpath:configuration/oauth2-redirect.html");
 
-		write(new File(mainSource.createResourceFile("", "logback-spring.xml").toString()),
+		write(writes, mainSource.resolveResourceFile("", "logback-spring.xml"),
 				projectTemplateName + "/src/main/resources/logback-spring.xml", model);
-		write(new File(mainSource.createResourceFile("", "application.yml").toString()),
+		write(writes, mainSource.resolveResourceFile("", "application.yml"),
 				projectTemplateName + "/src/main/resources/application.yml", model);
 
-		write(new File(mainSource.createResourceFile("api", "swagger.yml").toString()),
+		write(writes, mainSource.resolveResourceFile("api", "swagger.yml"),
 				projectTemplateName + "/src/main/resources/api/swagger.yml", model);
 
-		write(new File(projectRoot.toString(), "README.md"), projectTemplateName + "/README.md", model);
-		write(new File(projectRoot.toString(), "docker-compose.yml"), projectTemplateName + "/docker-compose.yml", model);
+		write(writes, projectRoot.resolve("README.md"), projectTemplateName + "/README.md", model);
+		write(writes, projectRoot.resolve("docker-compose.yml"), projectTemplateName + "/docker-compose.yml", model);
 
 		if (DockerPackaging.ID.equals(description.getPackaging().id())) {
-			write(new File(projectRoot.toString(), "Dockerfile"), "common/Dockerfile", model);
-			File execFile = new File(projectRoot.toString(), "run.sh");
-			Files.createFile(execFile.toPath());
-			execFile.setExecutable(true);
-			write(execFile, "common/run.sh", model);
+			write(writes, projectRoot.resolve("Dockerfile"), "common/Dockerfile", model);
+			write(writes, projectRoot.resolve("run.sh"), "common/run.sh", model, true);
 		}
 	}
 
-	private void copyCommonSources(String prefix, SourceStructure mainSource, Map<String, Object> model, String replace)
-			throws IOException, URISyntaxException {
-		for (URL u : ResourcesScanner.getResourceURLs()) {
-			String path = u.getFile();
-			if (path.endsWith(".mustache") && path.contains(prefix)) {
-				String[] split = path.split(prefix);
-				File f = new File(path);
-				String fullName = f.getName();
-				String tmpl = fullName.substring(0, fullName.indexOf('.'));
-				String last = split[1];
-				String packageNameSuffix = last.substring(0, last.lastIndexOf("/")).replaceAll("/", ".");
-				String packageName = model.get("packageName") + prefix.replaceAll("/", ".").replace(replace, "");
-				String lastName = last.replaceAll(".mustache", "");
-				write(new File(mainSource.createSourceFile(packageName + packageNameSuffix, tmpl).toString()),
-						prefix + lastName, model);
-			}
+	private void copyCommonSources(String prefix, SourceStructure mainSource, Map<String, Object> model, String replace,
+			ProjectWrites writes) {
+		String packageName = model.get("packageName") + prefix.replaceAll("/", ".").replace(replace, "");
+		for (TemplateIndex.TemplateEntry template : this.templateIndex.getTemplates(prefix)) {
+			write(writes,
+					mainSource.resolveSourceFile(packageName + template.getPackageSuffix(), template.getClassName()),
+					template.getTemplateName(), model);
 		}
 	}
 
@@ -183,4 +245,24 @@ public class JavaTemplatesContributor implements ProjectContributor {
 		return model;
 	}
 
+	/**
+	 * The files to write to a {@link ProjectOutput}.
+	 */
+	private static final class ProjectWrites {
+
+		private final ProjectOutput output;
+
+		private final ProjectStatistics statistics;
+
+		private final Set<Path> directories = new LinkedHashSet<>();
+
+		private final List<Runnable> tasks = new ArrayList<>();
+
+		private ProjectWrites(ProjectOutput output, ProjectStatistics statistics) {
+			this.output = output;
+			this.statistics = statistics;
+		}
+
+	}
+
 }
@@ -1,66 +1,133 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
 package io.spring.start.site.extension.code.java.realpage;
 
-import java.io.File;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
 import java.io.IOException;
-import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Scan the templates available on the classpath using a {@link ResourcePatternResolver},
+ * so that templates are found whether the application runs from an IDE, from exploded
+ * classes or from {@code BOOT-INF/classes} of an executable jar. The classpath is scanned
+ * on first use only and the listing is cached afterwards.
+ */
 public class ResourcesScanner {
 
-	private static void collectURL(ResourceURLFilter f, Set<URL> s, URL u) {
-		if (f == null || f.accept(u)) {
-			s.add(u);
-		}
+	private static final String TEMPLATES_LOCATION = "classpath*:templates/";
+
+	private static final String TEMPLATES_PATTERN = "**/*.mustache";
+
+	private static final String TEMPLATE_EXTENSION = ".mustache";
+
+	private final ResourcePatternResolver resourcePatternResolver;
+
+	private volatile Listing listing;
+
+	public ResourcesScanner(ResourcePatternResolver resourcePatternResolver) {
+		this.resourcePatternResolver = resourcePatternResolver;
 	}
 
-	private static void iterateFileSystem(File r, ResourceURLFilter f, Set<URL> s) throws IOException {
-		File[] files = r.listFiles();
-		for (File file : files) {
-			if (file.isDirectory()) {
-				iterateFileSystem(file, f, s);
-			}
-			else if (file.isFile()) {
-				collectURL(f, s, file.toURI().toURL());
-			}
-		}
+	/**
+	 * Stream the names of the available templates. A template name is relative to the
+	 * templates location and does not have the {@code .mustache} extension, e.g.
+	 * {@code starter2/src/main/java/api/dao/CompanyDao.java}.
+	 * @return the names of the available templates
+	 */
+	public Stream<String> templateNames() {
+		return getListing().templateNames.stream();
 	}
 
-	private static void iterateJarFile(File file, ResourceURLFilter f, Set<URL> s) throws IOException {
-		JarFile jFile = new JarFile(file);
-		for (Enumeration<JarEntry> je = jFile.entries(); je.hasMoreElements();) {
-			JarEntry j = je.nextElement();
-			if (!j.isDirectory()) {
-				collectURL(f, s, new URL("jar", "", file.toURI() + "!/" + j.getName()));
+	/**
+	 * Stream the names of the templates located under the specified prefix.
+	 * @param prefix a template directory, e.g. {@code starter2}
+	 * @return the names of the templates under that prefix
+	 * @see #templateNames()
+	 */
+	public Stream<String> templateNames(String prefix) {
+		String directory = prefix.endsWith("/") ? prefix : prefix + "/";
+		return templateNames().filter((name) -> name.startsWith(directory));
+	}
+
+	public Set<URL> getResourceURLs() {
+		return getListing().urls;
+	}
+
+	public Set<URL> getResourceURLs(ResourceURLFilter filter) {
+		return getResourceURLs().stream().filter(filter::accept)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+
+	private Listing getListing() {
+		Listing listing = this.listing;
+		if (listing == null) {
+			synchronized (this) {
+				listing = this.listing;
+				if (listing == null) {
+					listing = scan();
+					this.listing = listing;
+				}
 			}
 		}
+		return listing;
 	}
 
-	private static void iterateEntry(File p, ResourceURLFilter f, Set<URL> s) throws IOException {
-		if (p.isDirectory()) {
-			iterateFileSystem(p, f, s);
+	private Listing scan() {
+		try {
+			Set<URL> urls = new LinkedHashSet<>();
+			List<String> templateNames = new ArrayList<>();
+			for (Resource root : this.resourcePatternResolver.getResources(TEMPLATES_LOCATION)) {
+				String rootLocation = root.getURL().toString();
+				for (Resource template : this.resourcePatternResolver.getResources(rootLocation + TEMPLATES_PATTERN)) {
+					URL url = template.getURL();
+					String location = url.toString();
+					if (location.startsWith(rootLocation) && urls.add(url)) {
+						templateNames.add(location.substring(rootLocation.length(),
+								location.length() - TEMPLATE_EXTENSION.length()));
+					}
+				}
+			}
+			return new Listing(urls, templateNames);
 		}
-		else if (p.isFile() && p.getName().toLowerCase().endsWith(".jar")) {
-			iterateJarFile(p, f, s);
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to scan templates", ex);
 		}
 	}
 
-	public static Set<URL> getResourceURLs() throws IOException, URISyntaxException {
-		return getResourceURLs(null);
-	}
+	private static final class Listing {
+
+		private final Set<URL> urls;
 
-	public static Set<URL> getResourceURLs(ResourceURLFilter filter) throws IOException, URISyntaxException {
-		Set<URL> collectedURLs = new HashSet<>();
-		URLClassLoader ucl = (URLClassLoader) ClassLoader.getSystemClassLoader();
-		for (URL url : ucl.getURLs()) {
-			iterateEntry(new File(url.toURI()), filter, collectedURLs);
+		private final List<String> templateNames;
+
+		private Listing(Set<URL> urls, List<String> templateNames) {
+			this.urls = Collections.unmodifiableSet(urls);
+			this.templateNames = Collections.unmodifiableList(templateNames);
 		}
-		return collectedURLs;
+
 	}
 
-}
\ No newline at end of file
+}
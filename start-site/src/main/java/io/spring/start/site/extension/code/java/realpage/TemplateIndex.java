@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.code.java.realpage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable index of the available templates, keyed by template prefix, so that the
+ * templates of a source tree can be looked up without scanning the classpath. The index
+ * is built once when the application starts, and is therefore rebuilt on a devtools
+ * restart.
+ */
+public final class TemplateIndex {
+
+	private final List<String> templateNames;
+
+	private final Map<String, List<TemplateEntry>> templates;
+
+	private TemplateIndex(List<String> templateNames, Map<String, List<TemplateEntry>> templates) {
+		this.templateNames = templateNames;
+		this.templates = templates;
+	}
+
+	/**
+	 * Create an index for the specified template names. A template name is relative to
+	 * the templates location and does not have the {@code .mustache} extension, e.g.
+	 * {@code starter2/src/main/java/api/dao/CompanyDao.java}.
+	 * @param templateNames the names of the available templates
+	 * @return an index of the specified templates
+	 */
+	public static TemplateIndex of(Collection<String> templateNames) {
+		List<String> names = Collections.unmodifiableList(new ArrayList<>(new TreeSet<>(templateNames)));
+		Map<String, List<TemplateEntry>> templates = new LinkedHashMap<>();
+		for (String name : names) {
+			for (int i = name.indexOf('/'); i != -1; i = name.indexOf('/', i + 1)) {
+				templates.computeIfAbsent(name.substring(0, i), (prefix) -> new ArrayList<>())
+						.add(TemplateEntry.of(name, i));
+			}
+		}
+		templates.replaceAll((prefix, entries) -> Collections.unmodifiableList(entries));
+		return new TemplateIndex(names, Collections.unmodifiableMap(templates));
+	}
+
+	/**
+	 * Create an index of the templates found by the specified {@link ResourcesScanner}.
+	 * @param scanner the scanner to use
+	 * @return an index of the available templates
+	 */
+	public static TemplateIndex scan(ResourcesScanner scanner) {
+		return of(scanner.templateNames().collect(Collectors.toList()));
+	}
+
+	/**
+	 * Return the names of all the indexed templates, in alphabetical order.
+	 * @return the template names
+	 */
+	public List<String> getTemplateNames() {
+		return this.templateNames;
+	}
+
+	/**
+	 * Return the templates located under the specified prefix, in alphabetical order.
+	 * @param prefix a template directory, e.g. {@code starter2/src/main/java/api}
+	 * @return the templates under that prefix, or an empty list if there are none
+	 */
+	public List<TemplateEntry> getTemplates(String prefix) {
+		return this.templates.getOrDefault(prefix, Collections.emptyList());
+	}
+
+	/**
+	 * A pre-parsed template, relative to the prefix it was looked up with.
+	 */
+	public static final class TemplateEntry {
+
+		private final String templateName;
+
+		private final String packageSuffix;
+
+		private final String className;
+
+		private TemplateEntry(String templateName, String packageSuffix, String className) {
+			this.templateName = templateName;
+			this.packageSuffix = packageSuffix;
+			this.className = className;
+		}
+
+		private static TemplateEntry of(String templateName, int prefixLength) {
+			int fileNameIndex = templateName.lastIndexOf('/');
+			String packageSuffix = templateName.substring(prefixLength, fileNameIndex).replace('/', '.');
+			String fileName = templateName.substring(fileNameIndex + 1);
+			int extensionIndex = fileName.indexOf('.');
+			String className = (extensionIndex != -1) ? fileName.substring(0, extensionIndex) : fileName;
+			return new TemplateEntry(templateName, packageSuffix, className);
+		}
+
+		/**
+		 * Return the name of the template to render.
+		 * @return the template name
+		 */
+		public String getTemplateName() {
+			return this.templateName;
+		}
+
+		/**
+		 * Return the package of the template relative to its prefix, e.g.
+		 * {@code .dao.impl}, or an empty string if the template is located at the root
+		 * of the prefix.
+		 * @return the package suffix
+		 */
+		public String getPackageSuffix() {
+			return this.packageSuffix;
+		}
+
+		/**
+		 * Return the name of the class the template generates.
+		 * @return the class name
+		 */
+		public String getClassName() {
+			return this.className;
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.code.java.realpage;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.spring.start.site.support.VirtualThreads;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * The executor that renders the templates of projects in parallel. It has its own
+ * threads and a bounded queue: a template that cannot be queued is rejected and rendered
+ * by the thread that generates the project instead. It is not an {@link Executor} bean,
+ * so that it neither replaces the task executor of the application nor is used for
+ * asynchronous methods.
+ */
+public class TemplateRenderingExecutor implements DisposableBean {
+
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Create a new instance.
+	 * @param threads the number of threads that render templates
+	 * @param queueCapacity the maximum number of templates waiting for a thread
+	 */
+	public TemplateRenderingExecutor(int threads, int queueCapacity) {
+		this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), VirtualThreads.threadFactory("template-rendering-", false));
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Return the executor to render templates on.
+	 * @return the executor
+	 */
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+
+}
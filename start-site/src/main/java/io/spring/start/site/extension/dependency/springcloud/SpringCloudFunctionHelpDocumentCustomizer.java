@@ -70,6 +70,10 @@ class SpringCloudFunctionHelpDocumentCustomizer implements HelpDocumentCustomize
 	}
 
 	private void addBuildSetupInfo(HelpDocument helpDocument) {
+		Set<CloudPlatform> cloudPlatforms = cloudPlatformsFromDependencies();
+		if (cloudPlatforms.isEmpty()) {
+			return;
+		}
 		Version bootVersion = this.description.getPlatformVersion();
 		String springCloudFunctionVersion = this.projectVersionResolver.resolveVersion(bootVersion,
 				"org.springframework.cloud:spring-cloud-function-core");
@@ -84,7 +88,7 @@ class SpringCloudFunctionHelpDocumentCustomizer implements HelpDocumentCustomize
 			return;
 		}
 		String buildSystemId = this.description.getBuildSystem().id();
-		Map<Boolean, List<CloudPlatform>> platformsByBuildSystemSupport = cloudPlatformsFromDependencies().stream()
+		Map<Boolean, List<CloudPlatform>> platformsByBuildSystemSupport = cloudPlatforms.stream()
 				.collect(Collectors.partitioningBy(
 						(cloudPlatform) -> cloudPlatform.getSupportedBuildSystems().contains(buildSystemId)));
 		platformsByBuildSystemSupport.get(true).forEach((cloudPlatform) -> helpDocument.nextSteps().addSection(
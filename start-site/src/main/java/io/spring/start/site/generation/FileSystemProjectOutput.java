@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A {@link ProjectOutput} that writes files to disk.
+ */
+class FileSystemProjectOutput implements ProjectOutput {
+
+	@Override
+	public void write(Path file, byte[] content, boolean executable) throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.write(file, content);
+		if (executable) {
+			file.toFile().setExecutable(true);
+		}
+	}
+
+	@Override
+	public void createDirectories(Path directory) throws IOException {
+		Files.createDirectories(directory);
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A {@link ProjectOutput} that keeps the content of the project in memory.
+ */
+public class InMemoryProjectTree implements ProjectOutput {
+
+	private final Map<Path, ProjectFile> files = new ConcurrentSkipListMap<>();
+
+	@Override
+	public void write(Path file, byte[] content, boolean executable) {
+		this.files.put(file, new ProjectFile(content, null, executable));
+	}
+
+	@Override
+	public void write(Path file, StaticResource resource, boolean executable) {
+		this.files.put(file, new ProjectFile(resource.getContent(), resource, executable));
+	}
+
+	/**
+	 * Return the files of the project, sorted by path.
+	 * @return the files of the project
+	 */
+	public Map<Path, ProjectFile> getFiles() {
+		return Collections.unmodifiableMap(this.files);
+	}
+
+	/**
+	 * A file of the project.
+	 */
+	public static final class ProjectFile {
+
+		private final byte[] content;
+
+		private final StaticResource staticResource;
+
+		private final boolean executable;
+
+		ProjectFile(byte[] content, StaticResource staticResource, boolean executable) {
+			this.content = content;
+			this.staticResource = staticResource;
+			this.executable = executable;
+		}
+
+		public byte[] getContent() {
+			return this.content;
+		}
+
+		/**
+		 * Return the {@link StaticResource} this file was written from, if any.
+		 * @return the static resource or {@code null}
+		 */
+		public StaticResource getStaticResource() {
+			return this.staticResource;
+		}
+
+		public boolean isExecutable() {
+			return this.executable;
+		}
+
+	}
+
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.spring.initializr.generator.buildsystem.BuildSystem;
+import io.spring.initializr.generator.buildsystem.BuildWriter;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.generator.project.ProjectDescriptionDiff;
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.initializr.generator.spring.documentation.HelpDocument;
+import io.spring.initializr.generator.spring.documentation.HelpDocumentCustomizer;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.ProjectRequestToDescriptionConverter;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.type.classreading.ConcurrentReferenceCachingMetadataReaderFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.ConfigurationClassPostProcessor;
+import org.springframework.core.Conventions;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+/**
+ * A {@link ProjectGenerationInvoker} that reduces the cost of refreshing the project
+ * generation context of each request.
+ * <p>
+ * The class files of the configuration classes are read once and shared by every
+ * project generation context. In addition, if memoization is enabled, the bean
+ * definitions that result from parsing the configuration classes and evaluating their
+ * conditions are recorded per signature of the resolved {@link ProjectDescription}: its
+ * build system, language, java version, platform version, packaging and requested
+ * dependencies, that is the inputs of the conditions of the configuration classes. A
+ * later request with the same signature registers these bean definitions, already
+ * marked as processed, so that configuration class processing finds nothing to parse.
+ * The configuration class post processor still runs, so that the infrastructure it
+ * registers, such as the support of {@code ImportAware} beans, is available, and the
+ * import registry of the original processing is registered again. Replaying relies on the
+ * attribute and the bean that the post processor uses internally: if they cannot be
+ * found, generation fails rather than producing a different project.
+ * <p>
+ * The description is resolved once, when the generation context is customized, and is
+ * used as is by the generation context rather than being customized again.
+ * <p>
+ * When only the build file of a project is requested, the project contributors and the
+ * help document can also be left out of the generation context, so that only the beans
+ * that are required to customize and write the build are created.
+ */
+public class MemoizingProjectGenerationInvoker extends ProjectGenerationInvoker<ProjectRequest> {
+
+	private static final String CONFIGURATION_CLASS_ATTRIBUTE = Conventions
+			.getQualifiedAttributeName(ConfigurationClassPostProcessor.class, "configurationClass");
+
+	private static final String IMPORT_REGISTRY_BEAN_NAME = ConfigurationClassPostProcessor.class.getName()
+			+ ".importRegistry";
+
+	private final DescriptionRecorder requestConverter;
+
+	private final ObjectProvider<ProjectDescriptionCustomizer> descriptionCustomizers;
+
+	private final MetadataReaderFactory metadataReaderFactory;
+
+	private final boolean memoize;
+
+	private final boolean buildOnly;
+
+	private final Map<String, MemoizedContext> contexts;
+
+	private final ThreadLocal<Boolean> buildGeneration = new ThreadLocal<>();
+
+	/**
+	 * Create a new instance.
+	 * @param parentApplicationContext the parent context of project generation contexts
+	 * @param requestConverter the converter to use
+	 * @param memoize whether to memoize the bean definitions per request signature
+	 * @param maxSignatures the maximum number of signatures to keep
+	 * @param buildOnly whether to leave the beans that do not contribute to the build
+	 * out of the context when only the build file is requested
+	 */
+	public MemoizingProjectGenerationInvoker(ApplicationContext parentApplicationContext,
+			ProjectRequestToDescriptionConverter<ProjectRequest> requestConverter, boolean memoize, int maxSignatures,
+			boolean buildOnly) {
+		this(parentApplicationContext, new DescriptionRecorder(requestConverter), memoize, maxSignatures, buildOnly);
+	}
+
+	private MemoizingProjectGenerationInvoker(ApplicationContext parentApplicationContext,
+			DescriptionRecorder requestConverter, boolean memoize, int maxSignatures, boolean buildOnly) {
+		super(parentApplicationContext, requestConverter);
+		this.requestConverter = requestConverter;
+		this.descriptionCustomizers = parentApplicationContext.getBeanProvider(ProjectDescriptionCustomizer.class);
+		this.metadataReaderFactory = new ConcurrentReferenceCachingMetadataReaderFactory(
+				parentApplicationContext.getClassLoader());
+		this.memoize = memoize;
+		this.buildOnly = buildOnly;
+		this.contexts = Collections.synchronizedMap(new LinkedHashMap<String, MemoizedContext>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, MemoizedContext> eldest) {
+				return size() > maxSignatures;
+			}
+
+		});
+	}
+
+	@Override
+	public ProjectGenerationResult invokeProjectStructureGeneration(ProjectRequest request) {
+		try {
+			return super.invokeProjectStructureGeneration(request);
+		}
+		finally {
+			this.requestConverter.clear();
+		}
+	}
+
+	@Override
+	public byte[] invokeBuildGeneration(ProjectRequest request) {
+		this.buildGeneration.set(Boolean.TRUE);
+		try {
+			return super.invokeBuildGeneration(request);
+		}
+		finally {
+			this.requestConverter.clear();
+			this.buildGeneration.remove();
+		}
+	}
+
+	@Override
+	protected void customizeProjectGenerationContext(AnnotationConfigApplicationContext context,
+			InitializrMetadata metadata) {
+		super.customizeProjectGenerationContext(context, metadata);
+		context.getBeanDefinition(AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME)
+				.getPropertyValues().add("metadataReaderFactory", this.metadataReaderFactory);
+		boolean buildOnly = this.buildOnly && this.buildGeneration.get() != null;
+		String signature = (this.memoize) ? signature(resolveDescription(context)) : null;
+		String key = (signature != null && buildOnly) ? "build|" + signature : signature;
+		MemoizedContext memoizedContext = (key != null) ? this.contexts.get(key) : null;
+		if (memoizedContext != null) {
+			memoizedContext.apply(context);
+			return;
+		}
+		if (buildOnly) {
+			context.addBeanFactoryPostProcessor(MemoizingProjectGenerationInvoker::removeNonBuildBeans);
+		}
+		if (key != null) {
+			Set<String> registeredNames = new HashSet<>();
+			Collections.addAll(registeredNames, context.getBeanDefinitionNames());
+			context.addBeanFactoryPostProcessor((beanFactory) -> this.contexts.putIfAbsent(key,
+					MemoizedContext.record(beanFactory, registeredNames)));
+		}
+	}
+
+	/**
+	 * Resolve the description of the current request the same way the project generator
+	 * does, that is by applying the {@link ProjectDescriptionCustomizer customizers} of
+	 * the application, and make the generation context use it as is.
+	 * @param context the generation context
+	 * @return the resolved description, or {@code null} if no request is being generated
+	 */
+	private ProjectDescription resolveDescription(AnnotationConfigApplicationContext context) {
+		ProjectDescription description = this.requestConverter.get();
+		if (!(description instanceof MutableProjectDescription)) {
+			return description;
+		}
+		MutableProjectDescription mutableDescription = (MutableProjectDescription) description;
+		ProjectDescriptionDiff diff = new ProjectDescriptionDiff(mutableDescription);
+		this.descriptionCustomizers.orderedStream().forEach((customizer) -> customizer.customize(mutableDescription));
+		String[] names = context.getBeanFactory().getBeanNamesForType(ProjectDescription.class, false, false);
+		if (names.length != 1) {
+			throw new IllegalStateException("Expected a single project description bean in the generation context "
+					+ "but found " + names.length);
+		}
+		((AbstractBeanDefinition) context.getBeanDefinition(names[0])).setInstanceSupplier(() -> mutableDescription);
+		context.registerBean(ProjectDescriptionDiff.class, () -> diff);
+		return mutableDescription;
+	}
+
+	/**
+	 * Remove the definitions of the beans that are not involved in writing the build:
+	 * the project contributors, except the {@link BuildWriter build writers}, and the
+	 * help document and its customizers.
+	 * @param beanFactory the bean factory of the generation context
+	 */
+	static void removeNonBuildBeans(ConfigurableListableBeanFactory beanFactory) {
+		BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+		for (String name : registry.getBeanDefinitionNames()) {
+			Class<?> type = beanFactory.getType(name, false);
+			if (type != null && !BuildWriter.class.isAssignableFrom(type) && isNonBuildType(type)) {
+				registry.removeBeanDefinition(name);
+			}
+		}
+	}
+
+	private static boolean isNonBuildType(Class<?> type) {
+		return ProjectContributor.class.isAssignableFrom(type) || HelpDocument.class.isAssignableFrom(type)
+				|| HelpDocumentCustomizer.class.isAssignableFrom(type);
+	}
+
+	/**
+	 * Return the signature of the specified description, that is the inputs of the
+	 * conditions of the configuration classes, or {@code null} if the description is not
+	 * complete enough for its signature to be reliable.
+	 * @param description the resolved description
+	 * @return the signature of the description or {@code null}
+	 */
+	static String signature(ProjectDescription description) {
+		if (description == null || description.getBuildSystem() == null || description.getLanguage() == null
+				|| description.getPlatformVersion() == null || description.getPackaging() == null) {
+			return null;
+		}
+		BuildSystem buildSystem = description.getBuildSystem();
+		return String.join("|", buildSystem.id(), buildSystem.dialect(), description.getLanguage().id(),
+				description.getLanguage().jvmVersion(), description.getPlatformVersion().toString(),
+				description.getPackaging().id(),
+				String.join(",", new TreeSet<>(description.getRequestedDependencies().keySet())));
+	}
+
+	/**
+	 * Return the number of signatures for which bean definitions are memoized.
+	 * @return the number of memoized signatures
+	 */
+	public int getMemoizedSignatures() {
+		return this.contexts.size();
+	}
+
+	/**
+	 * The outcome of the configuration classes processing of a generation context.
+	 */
+	private static final class MemoizedContext {
+
+		private final Map<String, BeanDefinition> beanDefinitions;
+
+		private final Object importRegistry;
+
+		private MemoizedContext(Map<String, BeanDefinition> beanDefinitions, Object importRegistry) {
+			this.beanDefinitions = beanDefinitions;
+			this.importRegistry = importRegistry;
+		}
+
+		/**
+		 * Record the bean definitions that configuration class processing has contributed
+		 * or enhanced, as well as the import registry it has registered.
+		 * @param beanFactory the bean factory of the generation context
+		 * @param registeredNames the names of the beans registered before the context was
+		 * refreshed
+		 * @return the memoized context
+		 */
+		static MemoizedContext record(ConfigurableListableBeanFactory beanFactory, Set<String> registeredNames) {
+			BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+			Map<String, BeanDefinition> definitions = new LinkedHashMap<>();
+			boolean configurationClasses = false;
+			for (String name : registry.getBeanDefinitionNames()) {
+				BeanDefinition definition = registry.getBeanDefinition(name);
+				boolean configurationClass = definition.getAttribute(CONFIGURATION_CLASS_ATTRIBUTE) != null;
+				if (!registeredNames.contains(name) || configurationClass) {
+					definitions.put(name, definition.cloneBeanDefinition());
+				}
+				configurationClasses = configurationClasses || configurationClass;
+			}
+			if (!configurationClasses || !beanFactory.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
+				throw new IllegalStateException("Configuration classes processing cannot be memoized: attribute '"
+						+ CONFIGURATION_CLASS_ATTRIBUTE + "' or bean '" + IMPORT_REGISTRY_BEAN_NAME
+						+ "' not found. Disable start.generation.memoize-context");
+			}
+			return new MemoizedContext(Collections.unmodifiableMap(definitions),
+					beanFactory.getSingleton(IMPORT_REGISTRY_BEAN_NAME));
+		}
+
+		/**
+		 * Register the memoized bean definitions and import registry in the specified
+		 * context.
+		 * @param context the generation context
+		 */
+		void apply(AnnotationConfigApplicationContext context) {
+			this.beanDefinitions.forEach((name, definition) -> {
+				if (context.containsBeanDefinition(name)) {
+					context.removeBeanDefinition(name);
+				}
+				context.registerBeanDefinition(name, definition.cloneBeanDefinition());
+			});
+			context.getBeanFactory().registerSingleton(IMPORT_REGISTRY_BEAN_NAME, this.importRegistry);
+		}
+
+	}
+
+	/**
+	 * A {@link ProjectRequestToDescriptionConverter} that keeps the description of the
+	 * request that is being generated by the current thread, so that it is only
+	 * converted once.
+	 */
+	private static final class DescriptionRecorder implements ProjectRequestToDescriptionConverter<ProjectRequest> {
+
+		private final ProjectRequestToDescriptionConverter<ProjectRequest> delegate;
+
+		private final ThreadLocal<ProjectDescription> description = new ThreadLocal<>();
+
+		private DescriptionRecorder(ProjectRequestToDescriptionConverter<ProjectRequest> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public ProjectDescription convert(ProjectRequest request, InitializrMetadata metadata) {
+			ProjectDescription description = this.delegate.convert(request, metadata);
+			this.description.set(description);
+			return description;
+		}
+
+		ProjectDescription get() {
+			return this.description.get();
+		}
+
+		void clear() {
+			this.description.remove();
+		}
+
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.initializr.generator.project.ProjectGenerationConfiguration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * {@link ProjectGenerationConfiguration} that records metrics about the generation of
+ * each project.
+ */
+@ProjectGenerationConfiguration
+@ConditionalOnProperty(prefix = "start.generation.metrics", name = "enabled", havingValue = "true")
+public class MetricsProjectGenerationConfiguration {
+
+	@Bean
+	public static StageTimingBeanPostProcessor stageTimingBeanPostProcessor(
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new StageTimingBeanPostProcessor(meterRegistry);
+	}
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of generated project archives, keyed by {@link ProjectDescriptionDigest digest}.
+ * Archives are stored on local disk and the least recently used ones are evicted once
+ * the total size of the cache exceeds its maximum size. Archives can also expire after a
+ * configurable time to live.
+ */
+public class ProjectArchiveCache {
+
+	private static final String ENTRY_SUFFIX = ".archive";
+
+	private final Path directory;
+
+	private final long maxSize;
+
+	private final Duration timeToLive;
+
+	private final Clock clock;
+
+	private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long size;
+
+	/**
+	 * Create a new instance. Any archive left in the specified directory is removed.
+	 * @param directory the directory to store archives in
+	 * @param maxSize the maximum size of the cache, in bytes
+	 * @param timeToLive the time to live of an archive, or {@code null} if archives do not
+	 * expire
+	 * @throws IOException if the directory cannot be initialized
+	 */
+	public ProjectArchiveCache(Path directory, long maxSize, Duration timeToLive) throws IOException {
+		this(directory, maxSize, timeToLive, Clock.systemUTC());
+	}
+
+	ProjectArchiveCache(Path directory, long maxSize, Duration timeToLive, Clock clock) throws IOException {
+		this.directory = Files.createDirectories(directory);
+		this.maxSize = maxSize;
+		this.timeToLive = timeToLive;
+		this.clock = clock;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + ENTRY_SUFFIX)) {
+			for (Path file : files) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	/**
+	 * Return the archive stored for the specified key.
+	 * @param key the key of the archive
+	 * @return the content of the archive, or {@code null} if it is not cached
+	 */
+	public byte[] get(String key) {
+		Path file;
+		synchronized (this) {
+			CacheEntry entry = this.entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.isExpired()) {
+				evict(key);
+				return null;
+			}
+			file = entry.file;
+		}
+		try {
+			return Files.readAllBytes(file);
+		}
+		catch (IOException ex) {
+			// Evicted concurrently
+			return null;
+		}
+	}
+
+	/**
+	 * Store the specified archive.
+	 * @param key the key of the archive
+	 * @param content the content of the archive
+	 * @throws IOException if the archive cannot be stored
+	 */
+	public void put(String key, byte[] content) throws IOException {
+		try (PendingArchive archive = store(key)) {
+			archive.write(content);
+			archive.commit();
+		}
+	}
+
+	/**
+	 * Start storing an archive for the specified key. The archive is only added to the
+	 * cache once {@link PendingArchive#commit() committed}, closing it without committing
+	 * discards it.
+	 * @param key the key of the archive
+	 * @return a stream to write the content of the archive to
+	 * @throws IOException if the archive cannot be created
+	 */
+	public PendingArchive store(String key) throws IOException {
+		Path file = Files.createTempFile(this.directory, key, ".tmp");
+		return new PendingArchive(key, file);
+	}
+
+	/**
+	 * Return the total size of the cached archives, in bytes.
+	 * @return the size of the cache
+	 */
+	public synchronized long size() {
+		return this.size;
+	}
+
+	private void add(String key, Path tempFile) throws IOException {
+		long entrySize = Files.size(tempFile);
+		if (entrySize > this.maxSize) {
+			Files.deleteIfExists(tempFile);
+			return;
+		}
+		Path file = this.directory.resolve(key + ENTRY_SUFFIX);
+		synchronized (this) {
+			evict(key);
+			Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			Instant expiresAt = (this.timeToLive != null) ? this.clock.instant().plus(this.timeToLive) : null;
+			this.entries.put(key, new CacheEntry(file, entrySize, expiresAt));
+			this.size += entrySize;
+			Iterator<Map.Entry<String, CacheEntry>> iterator = this.entries.entrySet().iterator();
+			while (this.size > this.maxSize && iterator.hasNext()) {
+				Map.Entry<String, CacheEntry> eldest = iterator.next();
+				iterator.remove();
+				remove(eldest.getValue());
+			}
+		}
+	}
+
+	private void evict(String key) {
+		CacheEntry entry = this.entries.remove(key);
+		if (entry != null) {
+			remove(entry);
+		}
+	}
+
+	private void remove(CacheEntry entry) {
+		this.size -= entry.size;
+		try {
+			Files.deleteIfExists(entry.file);
+		}
+		catch (IOException ex) {
+			// Ignore
+		}
+	}
+
+	/**
+	 * An archive being written to the cache.
+	 */
+	public final class PendingArchive extends FilterOutputStream {
+
+		private final String key;
+
+		private final Path file;
+
+		private boolean closed;
+
+		private boolean committed;
+
+		private PendingArchive(String key, Path file) throws IOException {
+			super(Files.newOutputStream(file));
+			this.key = key;
+			this.file = file;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.out.write(b, off, len);
+		}
+
+		/**
+		 * Add the archive to the cache.
+		 * @throws IOException if the archive cannot be added
+		 */
+		public void commit() throws IOException {
+			closeStream();
+			add(this.key, this.file);
+			this.committed = true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			closeStream();
+			if (!this.committed) {
+				Files.deleteIfExists(this.file);
+			}
+		}
+
+		private void closeStream() throws IOException {
+			if (!this.closed) {
+				this.closed = true;
+				super.close();
+			}
+		}
+
+	}
+
+	private final class CacheEntry {
+
+		private final Path file;
+
+		private final long size;
+
+		private final Instant expiresAt;
+
+		private CacheEntry(Path file, long size, Instant expiresAt) {
+			this.file = file;
+			this.size = size;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired() {
+			return this.expiresAt != null && !ProjectArchiveCache.this.clock.instant().isBefore(this.expiresAt);
+		}
+
+	}
+
+}
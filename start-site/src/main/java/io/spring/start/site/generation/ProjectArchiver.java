@@ -0,0 +1,255 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import io.spring.start.site.generation.InMemoryProjectTree.ProjectFile;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.UnixStat;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+
+/**
+ * Write the content of a generated project to a zip or tar.gz archive. The content is
+ * the union of the files written to disk in the project directory and of the files held
+ * by an {@link InMemoryProjectTree}.
+ */
+public class ProjectArchiver {
+
+	static final int DIRECTORY_MODE = UnixStat.DIR_FLAG | 0755;
+
+	static final int FILE_MODE = UnixStat.FILE_FLAG | 0644;
+
+	static final int EXECUTABLE_MODE = UnixStat.FILE_FLAG | 0755;
+
+	/**
+	 * Write the specified project as a zip archive.
+	 * @param rootDirectory the root directory of the project
+	 * @param tree the in-memory files of the project
+	 * @param out the stream to write the archive to, closed once the archive is written
+	 * @throws IOException if the archive cannot be written
+	 */
+	public void writeZip(Path rootDirectory, InMemoryProjectTree tree, OutputStream out) throws IOException {
+		writeZip(collectEntries(rootDirectory, tree), out);
+	}
+
+	/**
+	 * Write the files of the specified project that match the specified filter as a zip
+	 * archive. Only the directories that contain these files are written.
+	 * @param rootDirectory the root directory of the project
+	 * @param tree the in-memory files of the project
+	 * @param out the stream to write the archive to, closed once the archive is written
+	 * @param filter the filter to apply to the name of the files
+	 * @throws IOException if the archive cannot be written
+	 */
+	public void writeZip(Path rootDirectory, InMemoryProjectTree tree, OutputStream out, Predicate<String> filter)
+			throws IOException {
+		writeZip(filter(collectEntries(rootDirectory, tree), filter), out);
+	}
+
+	private void writeZip(Map<String, Entry> entries, OutputStream out) throws IOException {
+		ZipArchiveOutputStream zip = new ZipArchiveOutputStream(out);
+		writeArchive(entries, zip, (name, mode, size) -> {
+			ZipArchiveEntry entry = new ZipArchiveEntry(name);
+			entry.setUnixMode(mode);
+			return entry;
+		}, (name, resource, mode) -> addStaticResource(zip, name, resource, mode));
+	}
+
+	/**
+	 * Write the specified project as a tar.gz archive.
+	 * @param rootDirectory the root directory of the project
+	 * @param tree the in-memory files of the project
+	 * @param out the stream to write the archive to, closed once the archive is written
+	 * @throws IOException if the archive cannot be written
+	 */
+	public void writeTgz(Path rootDirectory, InMemoryProjectTree tree, OutputStream out) throws IOException {
+		TarArchiveOutputStream tar = new TarArchiveOutputStream(new GzipCompressorOutputStream(out));
+		tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+		writeArchive(collectEntries(rootDirectory, tree), tar, (name, mode, size) -> {
+			TarArchiveEntry entry = new TarArchiveEntry(name);
+			entry.setMode(mode);
+			entry.setSize(size);
+			return entry;
+		}, null);
+	}
+
+	private Map<String, Entry> collectEntries(Path rootDirectory, InMemoryProjectTree tree) throws IOException {
+		Map<String, Entry> entries = new TreeMap<>();
+		try (Stream<Path> paths = Files.walk(rootDirectory)) {
+			paths.filter((path) -> !path.equals(rootDirectory)).forEach((path) -> {
+				String name = entryName(rootDirectory, path);
+				if (Files.isDirectory(path)) {
+					entries.put(name + "/", Entry.DIRECTORY);
+				}
+				else {
+					entries.put(name, new Entry(path, null, null, Files.isExecutable(path)));
+				}
+			});
+		}
+		for (Map.Entry<Path, ProjectFile> file : tree.getFiles().entrySet()) {
+			String name = entryName(rootDirectory, file.getKey());
+			for (int i = name.indexOf('/'); i != -1; i = name.indexOf('/', i + 1)) {
+				entries.put(name.substring(0, i + 1), Entry.DIRECTORY);
+			}
+			ProjectFile projectFile = file.getValue();
+			entries.put(name, new Entry(null, projectFile.getContent(), projectFile.getStaticResource(),
+					projectFile.isExecutable()));
+		}
+		return entries;
+	}
+
+	private Map<String, Entry> filter(Map<String, Entry> entries, Predicate<String> filter) {
+		Map<String, Entry> filtered = new TreeMap<>();
+		entries.forEach((name, entry) -> {
+			if (entry != Entry.DIRECTORY && filter.test(name)) {
+				for (int i = name.indexOf('/'); i != -1; i = name.indexOf('/', i + 1)) {
+					filtered.put(name.substring(0, i + 1), Entry.DIRECTORY);
+				}
+				filtered.put(name, entry);
+			}
+		});
+		return filtered;
+	}
+
+	/**
+	 * Read the content of the files of the specified project.
+	 * @param rootDirectory the root directory of the project
+	 * @param tree the in-memory files of the project
+	 * @return the content of each file, keyed by the name of its archive entry
+	 * @throws IOException if a file cannot be read
+	 */
+	public Map<String, byte[]> readFiles(Path rootDirectory, InMemoryProjectTree tree) throws IOException {
+		Map<String, byte[]> files = new TreeMap<>();
+		for (Map.Entry<String, Entry> item : collectEntries(rootDirectory, tree).entrySet()) {
+			if (item.getValue() != Entry.DIRECTORY) {
+				files.put(item.getKey(), item.getValue().getContent());
+			}
+		}
+		return files;
+	}
+
+	static String entryName(Path rootDirectory, Path path) {
+		return rootDirectory.relativize(path).toString().replace('\\', '/');
+	}
+
+	/**
+	 * Add the specified {@link StaticResource} to a zip archive, using its precomputed
+	 * compressed content.
+	 * @param zip the zip archive
+	 * @param name the name of the entry
+	 * @param resource the resource to add
+	 * @param mode the unix mode of the entry
+	 * @throws IOException if the entry cannot be added
+	 */
+	static void addStaticResource(ZipArchiveOutputStream zip, String name, StaticResource resource, int mode)
+			throws IOException {
+		ZipArchiveEntry entry = new ZipArchiveEntry(name);
+		entry.setUnixMode(mode);
+		entry.setMethod(resource.getMethod());
+		entry.setCrc(resource.getCrc());
+		entry.setSize(resource.getSize());
+		entry.setCompressedSize(resource.getCompressedContent().length);
+		zip.addRawArchiveEntry(entry, new ByteArrayInputStream(resource.getCompressedContent()));
+	}
+
+	private <T extends ArchiveEntry> void writeArchive(Map<String, Entry> entries, ArchiveOutputStream out,
+			EntryFactory<T> entryFactory, StaticResourceWriter staticResourceWriter) throws IOException {
+		int files = 0;
+		long uncompressedSize = 0;
+		for (Map.Entry<String, Entry> item : entries.entrySet()) {
+			Entry entry = item.getValue();
+			int mode = entry.executable ? EXECUTABLE_MODE : FILE_MODE;
+			if (entry == Entry.DIRECTORY) {
+				out.putArchiveEntry(entryFactory.createEntry(item.getKey(), DIRECTORY_MODE, 0));
+				out.closeArchiveEntry();
+				continue;
+			}
+			if (entry.staticResource != null && staticResourceWriter != null) {
+				staticResourceWriter.write(item.getKey(), entry.staticResource, mode);
+				uncompressedSize += entry.staticResource.getSize();
+			}
+			else {
+				byte[] content = entry.getContent();
+				out.putArchiveEntry(entryFactory.createEntry(item.getKey(), mode, content.length));
+				out.write(content);
+				out.closeArchiveEntry();
+				uncompressedSize += content.length;
+			}
+			files++;
+		}
+		out.finish();
+		out.close();
+		ProjectStatistics statistics = ProjectStatistics.current();
+		if (statistics != null) {
+			statistics.recordContent(files, uncompressedSize);
+		}
+	}
+
+	@FunctionalInterface
+	private interface EntryFactory<T extends ArchiveEntry> {
+
+		T createEntry(String name, int mode, long size);
+
+	}
+
+	@FunctionalInterface
+	private interface StaticResourceWriter {
+
+		void write(String name, StaticResource resource, int mode) throws IOException;
+
+	}
+
+	private static final class Entry {
+
+		private static final Entry DIRECTORY = new Entry(null, null, null, false);
+
+		private final Path file;
+
+		private final byte[] content;
+
+		private final StaticResource staticResource;
+
+		private final boolean executable;
+
+		private Entry(Path file, byte[] content, StaticResource staticResource, boolean executable) {
+			this.file = file;
+			this.content = content;
+			this.staticResource = staticResource;
+			this.executable = executable;
+		}
+
+		private byte[] getContent() throws IOException {
+			return (this.content != null) ? this.content : Files.readAllBytes(this.file);
+		}
+
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.spring.initializr.generator.buildsystem.Dependency;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.ProjectRequestToDescriptionConverter;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Compute a canonical digest of the project a {@link ProjectRequest} describes. The
+ * request is converted and the {@link ProjectDescriptionCustomizer customizers} of the
+ * application are applied, so that requests that generate the same project have the same
+ * digest. Each value is prefixed by its length so that a value cannot be crafted to look
+ * like several fields.
+ */
+public class ProjectDescriptionDigest {
+
+	private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final ProjectRequestToDescriptionConverter<ProjectRequest> requestConverter;
+
+	private final ObjectProvider<ProjectDescriptionCustomizer> customizers;
+
+	public ProjectDescriptionDigest(InitializrMetadataProvider metadataProvider,
+			ProjectRequestToDescriptionConverter<ProjectRequest> requestConverter,
+			ObjectProvider<ProjectDescriptionCustomizer> customizers) {
+		this.metadataProvider = metadataProvider;
+		this.requestConverter = requestConverter;
+		this.customizers = customizers;
+	}
+
+	/**
+	 * Return the digest of the project described by the specified request.
+	 * @param request the request to handle
+	 * @param archiveType the type of the archive, e.g. {@code zip}
+	 * @return the hex-encoded SHA-256 digest of the project
+	 */
+	public String digest(ProjectRequest request, String archiveType) {
+		return digest(resolveDescription(request), archiveType);
+	}
+
+	/**
+	 * Return the key to use to cache the archive of the project described by the
+	 * specified request, or {@code null} if it should not be cached. Projects that use a
+	 * snapshot platform version are not cached as the snapshot they depend on changes
+	 * over time.
+	 * @param request the request to handle
+	 * @param archiveType the type of the archive, e.g. {@code zip}
+	 * @return the digest of the project or {@code null}
+	 */
+	public String cacheKey(ProjectRequest request, String archiveType) {
+		MutableProjectDescription description = resolveDescription(request);
+		return (!isSnapshot(description)) ? digest(description, archiveType) : null;
+	}
+
+	private MutableProjectDescription resolveDescription(ProjectRequest request) {
+		MutableProjectDescription description = (MutableProjectDescription) this.requestConverter.convert(request,
+				this.metadataProvider.get());
+		this.customizers.orderedStream().forEach((customizer) -> customizer.customize(description));
+		return description;
+	}
+
+	private boolean isSnapshot(MutableProjectDescription description) {
+		return description.getPlatformVersion() != null
+				&& description.getPlatformVersion().toString().toUpperCase(Locale.ROOT).endsWith("SNAPSHOT");
+	}
+
+	private String digest(MutableProjectDescription description, String archiveType) {
+		StringBuilder content = new StringBuilder();
+		append(content, "archive", archiveType);
+		append(content, "platformVersion", description.getPlatformVersion());
+		append(content, "buildSystem", description.getBuildSystem().id());
+		append(content, "dialect", description.getBuildSystem().dialect());
+		append(content, "packaging", description.getPackaging().id());
+		append(content, "language", description.getLanguage().id());
+		append(content, "jvmVersion", description.getLanguage().jvmVersion());
+		append(content, "groupId", description.getGroupId());
+		append(content, "artifactId", description.getArtifactId());
+		append(content, "version", description.getVersion());
+		append(content, "name", description.getName());
+		append(content, "description", description.getDescription());
+		append(content, "packageName", description.getPackageName());
+		append(content, "applicationName", description.getApplicationName());
+		append(content, "baseDirectory", description.getBaseDirectory());
+		Map<String, Dependency> dependencies = new TreeMap<>(description.getRequestedDependencies());
+		dependencies.forEach((id, dependency) -> append(content, "dependency." + id,
+				dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getVersion() + ":"
+						+ dependency.getScope() + ":" + dependency.getType() + ":" + dependency.getClassifier()));
+		return sha256(content.toString());
+	}
+
+	private void append(StringBuilder content, String key, Object value) {
+		String text = String.valueOf(value);
+		content.append(key).append('=').append(text.length()).append(':').append(text).append('\n');
+	}
+
+	private String sha256(String content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+			char[] hex = new char[digest.length * 2];
+			for (int i = 0; i < digest.length; i++) {
+				hex[i * 2] = HEX_CHARS[(digest[i] >> 4) & 0xF];
+				hex[i * 2 + 1] = HEX_CHARS[digest[i] & 0xF];
+			}
+			return new String(hex);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+}
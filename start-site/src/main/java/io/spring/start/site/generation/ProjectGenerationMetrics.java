@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Publish the {@link ProjectStatistics statistics} of each generated project as
+ * distribution summaries, tagged with the {@code buildSystem}, the {@code packaging} and
+ * the {@code templateSet} of the project:
+ * <ul>
+ * <li>{@code start.generation.template.size}: bytes rendered by each template, also
+ * tagged with the {@code template}</li>
+ * <li>{@code start.generation.files}: number of files</li>
+ * <li>{@code start.generation.uncompressed.size}: total size of the files</li>
+ * <li>{@code start.generation.archive.size}: size of the archive</li>
+ * <li>{@code start.generation.allocated}: bytes allocated by the thread that generated
+ * the project, if the JVM supports it. Templates rendered on other threads are not
+ * accounted for.</li>
+ * </ul>
+ */
+public class ProjectGenerationMetrics {
+
+	private static final String NONE = "none";
+
+	private final MeterRegistry registry;
+
+	private final com.sun.management.ThreadMXBean threadMXBean;
+
+	/**
+	 * Create a new instance.
+	 * @param registry the registry to publish to
+	 */
+	public ProjectGenerationMetrics(MeterRegistry registry) {
+		this.registry = registry;
+		this.threadMXBean = getThreadMXBean();
+	}
+
+	private static com.sun.management.ThreadMXBean getThreadMXBean() {
+		java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean candidate = (com.sun.management.ThreadMXBean) threadMXBean;
+			if (candidate.isThreadAllocatedMemorySupported() && candidate.isThreadAllocatedMemoryEnabled()) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Invoke the specified generation, collecting its {@link ProjectStatistics} and
+	 * publishing them once it completes successfully.
+	 * @param buildSystem the build system of the project
+	 * @param packaging the packaging of the project
+	 * @param generation the generation to invoke
+	 * @param <T> the type of the result
+	 * @return the result of the generation
+	 * @throws Exception if the generation failed
+	 */
+	public <T> T measure(String buildSystem, String packaging, Callable<T> generation) throws Exception {
+		ProjectStatistics statistics = new ProjectStatistics();
+		long allocatedBefore = allocatedBytes();
+		T result = ProjectStatistics.invoke(statistics, generation);
+		long allocatedAfter = allocatedBytes();
+		Tags tags = Tags.of("buildSystem", tagValue(buildSystem), "packaging", tagValue(packaging), "templateSet",
+				tagValue(statistics.getTemplateSet()));
+		for (Map.Entry<String, Long> template : statistics.getTemplates().entrySet()) {
+			record("start.generation.template.size", "bytes", tags.and("template", template.getKey()),
+					template.getValue());
+		}
+		if (statistics.getFiles() >= 0) {
+			record("start.generation.files", "files", tags, statistics.getFiles());
+			record("start.generation.uncompressed.size", "bytes", tags, statistics.getUncompressedSize());
+		}
+		if (statistics.getArchiveSize() >= 0) {
+			record("start.generation.archive.size", "bytes", tags, statistics.getArchiveSize());
+		}
+		if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+			record("start.generation.allocated", "bytes", tags, allocatedAfter - allocatedBefore);
+		}
+		return result;
+	}
+
+	private void record(String name, String baseUnit, Tags tags, long amount) {
+		DistributionSummary.builder(name).baseUnit(baseUnit).tags(tags).register(this.registry).record(amount);
+	}
+
+	private long allocatedBytes() {
+		return (this.threadMXBean != null) ? this.threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId())
+				: -1;
+	}
+
+	private static String tagValue(String value) {
+		return (value != null) ? value : NONE;
+	}
+
+}
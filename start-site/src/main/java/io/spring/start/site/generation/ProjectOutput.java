@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Destination of the files that are contributed to a project.
+ *
+ * @see ProjectOutputHolder
+ */
+@FunctionalInterface
+public interface ProjectOutput {
+
+	/**
+	 * Write the specified content to the specified file.
+	 * @param file the file to write, resolved against the project directory
+	 * @param content the content of the file
+	 * @param executable whether the file should be executable
+	 * @throws IOException if the file cannot be written
+	 */
+	void write(Path file, byte[] content, boolean executable) throws IOException;
+
+	/**
+	 * Write the specified {@link StaticResource} to the specified file. By default, the
+	 * content of the resource is {@link #write(Path, byte[], boolean) written} as is.
+	 * @param file the file to write, resolved against the project directory
+	 * @param resource the resource to write
+	 * @param executable whether the file should be executable
+	 * @throws IOException if the file cannot be written
+	 */
+	default void write(Path file, StaticResource resource, boolean executable) throws IOException {
+		write(file, resource.getContent(), executable);
+	}
+
+	/**
+	 * Callback invoked once the root directory of the project has been created, before
+	 * any file is written.
+	 * @param rootDirectory the root directory of the project
+	 * @throws IOException if the output cannot be initialized
+	 */
+	default void initialize(Path rootDirectory) throws IOException {
+	}
+
+	/**
+	 * Create the specified directory, and its parents, if this output stores files in
+	 * directories. Invoked before files are written concurrently to that directory.
+	 * @param directory the directory to create, resolved against the project directory
+	 * @throws IOException if the directory cannot be created
+	 */
+	default void createDirectories(Path directory) throws IOException {
+	}
+
+}
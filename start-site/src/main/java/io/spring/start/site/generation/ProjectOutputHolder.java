@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Holds the {@link ProjectOutput} of the project being generated by the current thread.
+ * Files are written to disk unless another output has been bound.
+ */
+public final class ProjectOutputHolder {
+
+	private static final ProjectOutput FILE_SYSTEM = new FileSystemProjectOutput();
+
+	private static final ThreadLocal<ProjectOutput> current = new ThreadLocal<>();
+
+	private ProjectOutputHolder() {
+	}
+
+	/**
+	 * Return the {@link ProjectOutput} to use for the current thread.
+	 * @return the project output
+	 */
+	public static ProjectOutput getProjectOutput() {
+		ProjectOutput output = current.get();
+		return (output != null) ? output : FILE_SYSTEM;
+	}
+
+	/**
+	 * Invoke the specified {@link Callable} with the specified {@link ProjectOutput}
+	 * bound to the current thread.
+	 * @param output the output to use
+	 * @param action the action to invoke
+	 * @param <T> the type of the result
+	 * @return the result of the action
+	 * @throws Exception if the action failed
+	 */
+	public static <T> T invoke(ProjectOutput output, Callable<T> action) throws Exception {
+		ProjectOutput previous = current.get();
+		current.set(output);
+		try {
+			return action.call();
+		}
+		finally {
+			if (previous != null) {
+				current.set(previous);
+			}
+			else {
+				current.remove();
+			}
+		}
+	}
+
+}
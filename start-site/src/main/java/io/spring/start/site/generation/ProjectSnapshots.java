@@ -0,0 +1,177 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keep the SHA-256 digest of each file of the projects that were recently generated, so
+ * that a later generation of a similar project can be compared with a previous one. A
+ * snapshot is identified by the {@link ProjectDescriptionDigest digest} of the project it
+ * describes and the least recently used snapshots are evicted once the maximum number of
+ * snapshots is reached.
+ */
+public class ProjectSnapshots {
+
+	private final Map<String, Map<String, byte[]>> snapshots;
+
+	/**
+	 * Create a new instance.
+	 * @param maxSnapshots the maximum number of snapshots to keep
+	 */
+	public ProjectSnapshots(int maxSnapshots) {
+		this.snapshots = Collections.synchronizedMap(new LinkedHashMap<String, Map<String, byte[]>>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Map<String, byte[]>> eldest) {
+				return size() > maxSnapshots;
+			}
+
+		});
+	}
+
+	/**
+	 * Record the snapshot of a project and compare it with a previous snapshot. If the
+	 * previous snapshot is unknown, every file of the project is considered changed.
+	 * @param previousSnapshot the identifier of the previous snapshot or {@code null}
+	 * @param snapshot the identifier of the snapshot of the project
+	 * @param files the content of each file of the project, by name
+	 * @return the differences between the previous snapshot and the project
+	 */
+	public ProjectDiff diff(String previousSnapshot, String snapshot, Map<String, byte[]> files) {
+		Map<String, byte[]> digests = new LinkedHashMap<>();
+		files.forEach((name, content) -> digests.put(name, sha256(content)));
+		Map<String, byte[]> previous = (previousSnapshot != null) ? this.snapshots.get(previousSnapshot) : null;
+		this.snapshots.put(snapshot, digests);
+		if (previous == null) {
+			return new ProjectDiff(snapshot, false, new TreeSet<>(files.keySet()), Collections.emptyList());
+		}
+		Set<String> changedFiles = new TreeSet<>();
+		digests.forEach((name, digest) -> {
+			if (!MessageDigest.isEqual(digest, previous.get(name))) {
+				changedFiles.add(name);
+			}
+		});
+		return new ProjectDiff(snapshot, true, changedFiles, removedFiles(previous, digests));
+	}
+
+	/**
+	 * Return the names of the files of a previous snapshot that no longer exist in the
+	 * specified snapshot, in alphabetical order.
+	 * @param previousSnapshot the identifier of the previous snapshot
+	 * @param snapshot the identifier of the snapshot of the project
+	 * @return the removed files or {@code null} if either snapshot is unknown
+	 */
+	public List<String> removedFiles(String previousSnapshot, String snapshot) {
+		Map<String, byte[]> previous = this.snapshots.get(previousSnapshot);
+		Map<String, byte[]> current = this.snapshots.get(snapshot);
+		return (previous != null && current != null) ? removedFiles(previous, current) : null;
+	}
+
+	private List<String> removedFiles(Map<String, byte[]> previous, Map<String, byte[]> current) {
+		List<String> removedFiles = new ArrayList<>();
+		for (String name : new TreeSet<>(previous.keySet())) {
+			if (!current.containsKey(name)) {
+				removedFiles.add(name);
+			}
+		}
+		return removedFiles;
+	}
+
+	/**
+	 * Return the number of snapshots that are kept.
+	 * @return the number of snapshots
+	 */
+	public int size() {
+		return this.snapshots.size();
+	}
+
+	private static byte[] sha256(byte[] content) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(content);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+	/**
+	 * The differences between a project and a previous snapshot of it.
+	 */
+	public static final class ProjectDiff {
+
+		private final String snapshot;
+
+		private final boolean incremental;
+
+		private final Set<String> changedFiles;
+
+		private final List<String> removedFiles;
+
+		ProjectDiff(String snapshot, boolean incremental, Set<String> changedFiles, List<String> removedFiles) {
+			this.snapshot = snapshot;
+			this.incremental = incremental;
+			this.changedFiles = Collections.unmodifiableSet(changedFiles);
+			this.removedFiles = Collections.unmodifiableList(removedFiles);
+		}
+
+		/**
+		 * Return the identifier of the snapshot of the project.
+		 * @return the snapshot identifier
+		 */
+		public String getSnapshot() {
+			return this.snapshot;
+		}
+
+		/**
+		 * Return whether the project was compared with a previous snapshot. If not, every
+		 * file of the project is considered changed.
+		 * @return {@code true} if only the differences with the previous snapshot are
+		 * described
+		 */
+		public boolean isIncremental() {
+			return this.incremental;
+		}
+
+		/**
+		 * Return the names of the files that were added or modified, in alphabetical
+		 * order.
+		 * @return the changed files
+		 */
+		public Set<String> getChangedFiles() {
+			return this.changedFiles;
+		}
+
+		/**
+		 * Return the names of the files that no longer exist, in alphabetical order.
+		 * @return the removed files
+		 */
+		public List<String> getRemovedFiles() {
+			return this.removedFiles;
+		}
+
+	}
+
+}
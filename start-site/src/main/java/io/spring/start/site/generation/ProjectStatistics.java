@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statistics about the project being generated by the current thread: the size of each
+ * rendered template, the number of files of the project and the size of its archive.
+ * Components that take part in the generation of a project record what they know, if
+ * statistics are {@linkplain #current() collected} at all.
+ *
+ * @see ProjectGenerationMetrics
+ */
+public final class ProjectStatistics {
+
+	private static final ThreadLocal<ProjectStatistics> current = new ThreadLocal<>();
+
+	private final Map<String, Long> templates = new ConcurrentHashMap<>();
+
+	private volatile String templateSet;
+
+	private volatile int files = -1;
+
+	private volatile long uncompressedSize = -1;
+
+	private volatile long archiveSize = -1;
+
+	/**
+	 * Return the statistics of the project being generated by the current thread.
+	 * @return the statistics, or {@code null} if they are not collected
+	 */
+	public static ProjectStatistics current() {
+		return current.get();
+	}
+
+	/**
+	 * Invoke the specified {@link Callable} with the specified statistics bound to the
+	 * current thread.
+	 * @param statistics the statistics to collect
+	 * @param action the action to invoke
+	 * @param <T> the type of the result
+	 * @return the result of the action
+	 * @throws Exception if the action failed
+	 */
+	public static <T> T invoke(ProjectStatistics statistics, Callable<T> action) throws Exception {
+		ProjectStatistics previous = current.get();
+		current.set(statistics);
+		try {
+			return action.call();
+		}
+		finally {
+			if (previous != null) {
+				current.set(previous);
+			}
+			else {
+				current.remove();
+			}
+		}
+	}
+
+	/**
+	 * Record the set of templates the project is generated from.
+	 * @param templateSet the template set, e.g. {@code starter2}
+	 */
+	public void setTemplateSet(String templateSet) {
+		this.templateSet = templateSet;
+	}
+
+	/**
+	 * Record the size of a rendered template. This method can be invoked concurrently.
+	 * @param templateName the name of the template
+	 * @param size the number of bytes the template has rendered
+	 */
+	public void recordTemplate(String templateName, long size) {
+		this.templates.merge(templateName, size, Long::sum);
+	}
+
+	/**
+	 * Record the content of the project, once it has been archived.
+	 * @param files the number of files in the project
+	 * @param uncompressedSize the total size of the files of the project
+	 */
+	public void recordContent(int files, long uncompressedSize) {
+		this.files = files;
+		this.uncompressedSize = uncompressedSize;
+	}
+
+	/**
+	 * Record the size of the archive of the project.
+	 * @param archiveSize the size of the archive
+	 */
+	public void recordArchiveSize(long archiveSize) {
+		this.archiveSize = archiveSize;
+	}
+
+	/**
+	 * Return the set of templates the project was generated from.
+	 * @return the template set, or {@code null} if no template was rendered
+	 */
+	public String getTemplateSet() {
+		return this.templateSet;
+	}
+
+	/**
+	 * Return the number of bytes rendered by each template.
+	 * @return the size of the rendered templates, by template name
+	 */
+	public Map<String, Long> getTemplates() {
+		return Collections.unmodifiableMap(this.templates);
+	}
+
+	/**
+	 * Return the number of files in the project.
+	 * @return the number of files, or {@code -1} if it is unknown
+	 */
+	public int getFiles() {
+		return this.files;
+	}
+
+	/**
+	 * Return the total size of the files of the project.
+	 * @return the uncompressed size, or {@code -1} if it is unknown
+	 */
+	public long getUncompressedSize() {
+		return this.uncompressedSize;
+	}
+
+	/**
+	 * Return the size of the archive of the project.
+	 * @return the archive size, or {@code -1} if it is unknown
+	 */
+	public long getArchiveSize() {
+		return this.archiveSize;
+	}
+
+}
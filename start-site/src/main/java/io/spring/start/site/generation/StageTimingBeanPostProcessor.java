@@ -0,0 +1,156 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.lang.reflect.Modifier;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.initializr.generator.spring.build.BuildCustomizer;
+import io.spring.initializr.generator.spring.documentation.HelpDocumentCustomizer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * A {@link BeanPostProcessor} that records a {@link Timer} for each invocation of the
+ * components that take part in the generation of a project: description customizers,
+ * build customizers, project contributors and help document customizers.
+ * <p>
+ * Timers are named {@value #METRIC_NAME} and are tagged with the {@code stage}, the
+ * {@code component} (its class or, for a lambda, the name of its bean) and the
+ * {@code outcome} of the invocation. Components are left as is if no
+ * {@link MeterRegistry} is available.
+ */
+public class StageTimingBeanPostProcessor implements BeanPostProcessor {
+
+	/**
+	 * Name of the timers.
+	 */
+	public static final String METRIC_NAME = "start.generation.stage";
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	/**
+	 * Create a new instance.
+	 * @param meterRegistry the registry to publish timers to
+	 */
+	public StageTimingBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		Stage stage = Stage.of(bean);
+		if (stage == null) {
+			return bean;
+		}
+		MeterRegistry registry = this.meterRegistry.getIfAvailable();
+		if (registry == null) {
+			return bean;
+		}
+		Class<?> type = bean.getClass();
+		boolean lambda = type.isSynthetic();
+		String component = (lambda) ? beanName : type.getName();
+		ProxyFactory proxyFactory = new ProxyFactory(bean);
+		proxyFactory.setProxyTargetClass(!lambda && !Modifier.isFinal(type.getModifiers()));
+		proxyFactory.addAdvice(new TimingInterceptor(stage, component, registry));
+		return proxyFactory.getProxy(type.getClassLoader());
+	}
+
+	/**
+	 * A stage of the generation of a project, along with the method that runs it.
+	 */
+	enum Stage {
+
+		DESCRIPTION_CUSTOMIZER("description-customizer", ProjectDescriptionCustomizer.class, "customize"),
+
+		BUILD_CUSTOMIZER("build-customizer", BuildCustomizer.class, "customize"),
+
+		CONTRIBUTOR("contributor", ProjectContributor.class, "contribute"),
+
+		HELP_DOCUMENT_CUSTOMIZER("help-document-customizer", HelpDocumentCustomizer.class, "customize");
+
+		private final String tag;
+
+		private final Class<?> type;
+
+		private final String methodName;
+
+		Stage(String tag, Class<?> type, String methodName) {
+			this.tag = tag;
+			this.type = type;
+			this.methodName = methodName;
+		}
+
+		static Stage of(Object bean) {
+			for (Stage stage : values()) {
+				if (stage.type.isInstance(bean)) {
+					return stage;
+				}
+			}
+			return null;
+		}
+
+	}
+
+	private static final class TimingInterceptor implements MethodInterceptor {
+
+		private final Stage stage;
+
+		private final Timer success;
+
+		private final Timer error;
+
+		private TimingInterceptor(Stage stage, String component, MeterRegistry registry) {
+			this.stage = stage;
+			this.success = timer(stage, component, "SUCCESS", registry);
+			this.error = timer(stage, component, "ERROR", registry);
+		}
+
+		private static Timer timer(Stage stage, String component, String outcome, MeterRegistry registry) {
+			return Timer.builder(METRIC_NAME).description("Time spent in a stage of the generation of a project")
+					.tag("stage", stage.tag).tag("component", component).tag("outcome", outcome).register(registry);
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			if (!invocation.getMethod().getName().equals(this.stage.methodName)
+					|| invocation.getArguments().length != 1) {
+				return invocation.proceed();
+			}
+			long start = System.nanoTime();
+			try {
+				Object result = invocation.proceed();
+				this.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				return result;
+			}
+			catch (Throwable ex) {
+				this.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				throw ex;
+			}
+		}
+
+	}
+
+}
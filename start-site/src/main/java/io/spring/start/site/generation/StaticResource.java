@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * An immutable file whose content is the same for every project. Its CRC-32 and its
+ * deflated content are computed once, so that it can be added to a zip archive without
+ * compressing it again.
+ */
+public final class StaticResource {
+
+	private final byte[] content;
+
+	private final long crc;
+
+	private final int method;
+
+	private final byte[] compressedContent;
+
+	private StaticResource(byte[] content, long crc, int method, byte[] compressedContent) {
+		this.content = content;
+		this.crc = crc;
+		this.method = method;
+		this.compressedContent = compressedContent;
+	}
+
+	/**
+	 * Create a {@link StaticResource} with the specified content. The content is stored
+	 * as is if deflating it does not make it smaller.
+	 * @param content the content of the resource
+	 * @return a static resource
+	 */
+	public static StaticResource of(byte[] content) {
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		byte[] deflated = deflate(content);
+		if (deflated.length < content.length) {
+			return new StaticResource(content, crc.getValue(), ZipEntry.DEFLATED, deflated);
+		}
+		return new StaticResource(content, crc.getValue(), ZipEntry.STORED, content);
+	}
+
+	private static byte[] deflate(byte[] content) {
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try {
+			deflater.setInput(content);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(content.length);
+			byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return out.toByteArray();
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * Return the content of the resource.
+	 * @return the content
+	 */
+	public byte[] getContent() {
+		return this.content;
+	}
+
+	/**
+	 * Return the size of the resource, in bytes.
+	 * @return the size
+	 */
+	public long getSize() {
+		return this.content.length;
+	}
+
+	/**
+	 * Return the CRC-32 checksum of the content of the resource.
+	 * @return the checksum
+	 */
+	public long getCrc() {
+		return this.crc;
+	}
+
+	/**
+	 * Return the zip method of the {@link #getCompressedContent() compressed content},
+	 * either {@link ZipEntry#DEFLATED} or {@link ZipEntry#STORED}.
+	 * @return the zip method
+	 */
+	public int getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Return the content of the resource, compressed using {@link #getMethod()}.
+	 * @return the compressed content
+	 */
+	public byte[] getCompressedContent() {
+		return this.compressedContent;
+	}
+
+}
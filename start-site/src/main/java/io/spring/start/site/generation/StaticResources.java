@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * A read-only cache of the {@link StaticResource static resources} that are copied to
+ * generated projects. Resources are loaded once and shared by all projects.
+ */
+public class StaticResources {
+
+	private final ResourcePatternResolver resourcePatternResolver;
+
+	private final Map<String, StaticResource> resources = new ConcurrentHashMap<>();
+
+	private final Map<String, Map<String, StaticResource>> directories = new ConcurrentHashMap<>();
+
+	public StaticResources(ResourcePatternResolver resourcePatternResolver) {
+		this.resourcePatternResolver = resourcePatternResolver;
+	}
+
+	/**
+	 * Return the resource at the specified location.
+	 * @param location the location of the resource, e.g.
+	 * {@code classpath:configuration/keystore.p12}
+	 * @return the resource
+	 */
+	public StaticResource getResource(String location) {
+		return this.resources.computeIfAbsent(location, (key) -> {
+			try {
+				return load(this.resourcePatternResolver.getResource(key));
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to load " + key, ex);
+			}
+		});
+	}
+
+	/**
+	 * Return the resources located under the specified directory, keyed by their path
+	 * relative to that directory.
+	 * @param location the location of the directory, e.g. {@code classpath:maven/wrapper}
+	 * @return the resources of the directory
+	 */
+	public Map<String, StaticResource> getDirectory(String location) {
+		return this.directories.computeIfAbsent(location, (key) -> {
+			try {
+				return loadDirectory(key);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to load " + key, ex);
+			}
+		});
+	}
+
+	private Map<String, StaticResource> loadDirectory(String location) throws IOException {
+		String rootLocation = this.resourcePatternResolver.getResource(location).getURI().toString();
+		Map<String, StaticResource> resources = new TreeMap<>();
+		for (Resource resource : this.resourcePatternResolver.getResources(location + "/**")) {
+			if (resource.isReadable()) {
+				String path = StringUtils
+						.trimLeadingCharacter(resource.getURI().toString().substring(rootLocation.length()), '/');
+				resources.put(path, load(resource));
+			}
+		}
+		return Collections.unmodifiableMap(resources);
+	}
+
+	private StaticResource load(Resource resource) throws IOException {
+		try (InputStream in = resource.getInputStream()) {
+			return StaticResource.of(StreamUtils.copyToByteArray(in));
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ProjectOutput} that adds each file to a zip archive as soon as it is written,
+ * so that the archive can be sent while the project is being generated. The underlying
+ * stream is only opened when the first entry is added.
+ */
+public class StreamingZipProjectOutput implements ProjectOutput {
+
+	private final StreamOpener streamOpener;
+
+	private final Set<String> entries = new HashSet<>();
+
+	private Path rootDirectory;
+
+	private ZipArchiveOutputStream zip;
+
+	private CountingOutputStream archive;
+
+	private int files;
+
+	private long uncompressedSize;
+
+	public StreamingZipProjectOutput(StreamOpener streamOpener) {
+		this.streamOpener = streamOpener;
+	}
+
+	@Override
+	public synchronized void initialize(Path rootDirectory) {
+		this.rootDirectory = rootDirectory;
+	}
+
+	@Override
+	public synchronized void write(Path file, byte[] content, boolean executable) throws IOException {
+		Assert.state(this.rootDirectory != null, "Root directory of the project is not available");
+		addEntry(ProjectArchiver.entryName(this.rootDirectory, file), content, executable);
+	}
+
+	@Override
+	public synchronized void write(Path file, StaticResource resource, boolean executable) throws IOException {
+		Assert.state(this.rootDirectory != null, "Root directory of the project is not available");
+		String name = ProjectArchiver.entryName(this.rootDirectory, file);
+		addDirectoryEntries(name);
+		this.entries.add(name);
+		ProjectArchiver.addStaticResource(getZip(), name, resource,
+				executable ? ProjectArchiver.EXECUTABLE_MODE : ProjectArchiver.FILE_MODE);
+		this.files++;
+		this.uncompressedSize += resource.getSize();
+	}
+
+	/**
+	 * Add the files that were written to disk rather than to this output, and complete
+	 * the archive.
+	 * @throws IOException if the archive cannot be completed
+	 */
+	public synchronized void finish() throws IOException {
+		if (this.rootDirectory != null) {
+			List<Path> files;
+			try (Stream<Path> paths = Files.walk(this.rootDirectory)) {
+				files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+			}
+			for (Path file : files) {
+				String name = ProjectArchiver.entryName(this.rootDirectory, file);
+				if (!this.entries.contains(name)) {
+					addEntry(name, Files.readAllBytes(file), Files.isExecutable(file));
+				}
+			}
+		}
+		getZip().finish();
+		this.zip.flush();
+		ProjectStatistics statistics = ProjectStatistics.current();
+		if (statistics != null) {
+			statistics.recordContent(this.files, this.uncompressedSize);
+			statistics.recordArchiveSize(this.archive.count);
+		}
+	}
+
+	private void addEntry(String name, byte[] content, boolean executable) throws IOException {
+		ZipArchiveOutputStream zip = getZip();
+		addDirectoryEntries(name);
+		this.entries.add(name);
+		ZipArchiveEntry entry = new ZipArchiveEntry(name);
+		entry.setUnixMode(executable ? ProjectArchiver.EXECUTABLE_MODE : ProjectArchiver.FILE_MODE);
+		zip.putArchiveEntry(entry);
+		zip.write(content);
+		zip.closeArchiveEntry();
+		this.files++;
+		this.uncompressedSize += content.length;
+	}
+
+	private void addDirectoryEntries(String name) throws IOException {
+		ZipArchiveOutputStream zip = getZip();
+		for (int i = name.indexOf('/'); i != -1; i = name.indexOf('/', i + 1)) {
+			String directory = name.substring(0, i + 1);
+			if (this.entries.add(directory)) {
+				ZipArchiveEntry entry = new ZipArchiveEntry(directory);
+				entry.setUnixMode(ProjectArchiver.DIRECTORY_MODE);
+				zip.putArchiveEntry(entry);
+				zip.closeArchiveEntry();
+			}
+		}
+	}
+
+	private ZipArchiveOutputStream getZip() throws IOException {
+		if (this.zip == null) {
+			this.archive = new CountingOutputStream(this.streamOpener.open());
+			this.zip = new ZipArchiveOutputStream(this.archive);
+		}
+		return this.zip;
+	}
+
+	/**
+	 * An {@link OutputStream} that counts the bytes of the archive.
+	 */
+	private static final class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		private CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.out.write(b);
+			this.count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.out.write(b, off, len);
+			this.count += len;
+		}
+
+	}
+
+	/**
+	 * Open the stream the archive is written to.
+	 */
+	@FunctionalInterface
+	public interface StreamOpener {
+
+		OutputStream open() throws IOException;
+
+	}
+
+}
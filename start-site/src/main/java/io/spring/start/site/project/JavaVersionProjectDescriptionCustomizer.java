@@ -16,14 +16,15 @@
 
 package io.spring.start.site.project;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import io.spring.initializr.generator.buildsystem.gradle.GradleBuildSystem;
 import io.spring.initializr.generator.language.Language;
 import io.spring.initializr.generator.language.kotlin.KotlinLanguage;
 import io.spring.initializr.generator.project.MutableProjectDescription;
 import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
-import io.spring.initializr.generator.version.Version;
-import io.spring.initializr.generator.version.VersionParser;
-import io.spring.initializr.generator.version.VersionRange;
 
 /**
  * Validate that the requested java version is compatible with the chosen Spring Boot
@@ -34,17 +35,34 @@ import io.spring.initializr.generator.version.VersionRange;
  */
 public class JavaVersionProjectDescriptionCustomizer implements ProjectDescriptionCustomizer {
 
-	private static final VersionRange SPRING_BOOT_2_0_OR_LATER = VersionParser.DEFAULT.parseRange("2.0.0.M1");
+	private static final PlatformVersionTable PLATFORM_VERSIONS = PlatformVersionTable.of("2.0.0.M1", "2.0.1.RELEASE",
+			"2.1.0.M1", "2.2.0.M1", "2.2.2.BUILD-SNAPSHOT", "2.2.6.RELEASE");
+
+	private static final int SPRING_BOOT_2_0_OR_LATER = 1;
+
+	private static final int SPRING_BOOT_2_0_1_OR_LATER = 2;
+
+	private static final int SPRING_BOOT_2_1_OR_LATER = 3;
 
-	private static final VersionRange SPRING_BOOT_2_0_1_OR_LATER = VersionParser.DEFAULT.parseRange("2.0.1.RELEASE");
+	private static final int SPRING_BOOT_2_2_OR_LATER = 4;
 
-	private static final VersionRange SPRING_BOOT_2_1_OR_LATER = VersionParser.DEFAULT.parseRange("2.1.0.M1");
+	private static final int GRADLE_6 = 5;
 
-	private static final VersionRange SPRING_BOOT_2_2_OR_LATER = VersionParser.DEFAULT.parseRange("2.2.0.M1");
+	private static final int SPRING_BOOT_2_2_6_OR_LATER = 6;
 
-	private static final VersionRange SPRING_BOOT_2_2_6_OR_LATER = VersionParser.DEFAULT.parseRange("2.2.6.RELEASE");
+	/**
+	 * Java generations that may need to be downgraded, keyed by JVM version. Looking them
+	 * up avoids parsing, and failing to parse, the JVM version of every request.
+	 */
+	private static final Map<String, Integer> JAVA_GENERATIONS;
 
-	private static final VersionRange GRADLE_6 = VersionParser.DEFAULT.parseRange("2.2.2.BUILD-SNAPSHOT");
+	static {
+		Map<String, Integer> javaGenerations = new HashMap<>();
+		for (int generation = 9; generation <= 14; generation++) {
+			javaGenerations.put(Integer.toString(generation), generation);
+		}
+		JAVA_GENERATIONS = Collections.unmodifiableMap(javaGenerations);
+	}
 
 	@Override
 	public void customize(MutableProjectDescription description) {
@@ -52,9 +70,9 @@ public class JavaVersionProjectDescriptionCustomizer implements ProjectDescripti
 		if (javaGeneration == null) {
 			return;
 		}
-		Version platformVersion = description.getPlatformVersion();
+		int platformVersion = PLATFORM_VERSIONS.bucketOf(description.getPlatformVersion());
 		// Not supported for Spring Boot 1.x
-		if (!SPRING_BOOT_2_0_OR_LATER.match(platformVersion)) {
+		if (platformVersion < SPRING_BOOT_2_0_OR_LATER) {
 			updateTo(description, "1.8");
 		}
 		// Kotlin supports up to 12
@@ -62,24 +80,24 @@ public class JavaVersionProjectDescriptionCustomizer implements ProjectDescripti
 			updateTo(description, "11");
 		}
 		// 10 support only as of 2.0.1
-		if (javaGeneration == 10 && !SPRING_BOOT_2_0_1_OR_LATER.match(platformVersion)) {
+		if (javaGeneration == 10 && platformVersion < SPRING_BOOT_2_0_1_OR_LATER) {
 			updateTo(description, "1.8");
 		}
 		// 11 and 12 support only as of 2.1.x
-		if ((javaGeneration == 11 || javaGeneration == 12) && !SPRING_BOOT_2_1_OR_LATER.match(platformVersion)) {
+		if ((javaGeneration == 11 || javaGeneration == 12) && platformVersion < SPRING_BOOT_2_1_OR_LATER) {
 			updateTo(description, "1.8");
 		}
 		// 13 support only as of 2.2.x
-		if (javaGeneration == 13 && !SPRING_BOOT_2_2_OR_LATER.match(platformVersion)) {
+		if (javaGeneration == 13 && platformVersion < SPRING_BOOT_2_2_OR_LATER) {
 			updateTo(description, "11");
 		}
 		// 13 support only as of Gradle 6
 		if (javaGeneration == 13 && description.getBuildSystem() instanceof GradleBuildSystem
-				&& !GRADLE_6.match(platformVersion)) {
+				&& platformVersion < GRADLE_6) {
 			updateTo(description, "11");
 		}
 		// 14 support only as of 2.2.6
-		if (javaGeneration == 14 && !SPRING_BOOT_2_2_6_OR_LATER.match(platformVersion)) {
+		if (javaGeneration == 14 && platformVersion < SPRING_BOOT_2_2_6_OR_LATER) {
 			updateTo(description, "11");
 		}
 	}
@@ -90,13 +108,7 @@ public class JavaVersionProjectDescriptionCustomizer implements ProjectDescripti
 	}
 
 	private Integer determineJavaGeneration(String javaVersion) {
-		try {
-			int generation = Integer.parseInt(javaVersion);
-			return ((generation > 8 && generation <= 14) ? generation : null);
-		}
-		catch (NumberFormatException ex) {
-			return null;
-		}
+		return JAVA_GENERATIONS.get(javaVersion);
 	}
 
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.project;
+
+import java.util.Arrays;
+
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.generator.version.VersionParser;
+
+/**
+ * A compiled table of platform version thresholds. Each threshold is the inclusive lower
+ * bound of an open-ended version range, such as {@code 2.1.0.M1}, and a platform version
+ * is mapped to the number of thresholds it reaches. Compatibility rules can then be
+ * expressed as integer comparisons rather than as a chain of
+ * {@link io.spring.initializr.generator.version.VersionRange#match(Version) range
+ * matches}.
+ */
+final class PlatformVersionTable {
+
+	private final Version[] thresholds;
+
+	private PlatformVersionTable(Version[] thresholds) {
+		this.thresholds = thresholds;
+	}
+
+	/**
+	 * Create a table for the specified thresholds, in ascending order.
+	 * @param thresholds the inclusive lower bounds of the version ranges
+	 * @return a table of the specified thresholds
+	 */
+	static PlatformVersionTable of(String... thresholds) {
+		Version[] versions = Arrays.stream(thresholds).map(VersionParser.DEFAULT::parse).toArray(Version[]::new);
+		for (int i = 1; i < versions.length; i++) {
+			if (versions[i - 1].compareTo(versions[i]) >= 0) {
+				throw new IllegalArgumentException("Thresholds must be in ascending order: " + versions[i - 1]
+						+ " is not lower than " + versions[i]);
+			}
+		}
+		return new PlatformVersionTable(versions);
+	}
+
+	/**
+	 * Return the number of thresholds that the specified version reaches. A version
+	 * lower than the first threshold is in bucket {@code 0}, a version that reaches the
+	 * second threshold but not the third one is in bucket {@code 2}, etc.
+	 * @param version the platform version
+	 * @return the bucket of the specified version
+	 */
+	int bucketOf(Version version) {
+		int low = 0;
+		int high = this.thresholds.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.thresholds[middle].compareTo(version) <= 0) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+}
@@ -16,7 +16,14 @@
 
 package io.spring.start.site.support;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import io.spring.initializr.versionresolver.DependencyManagementVersionResolver;
 
@@ -25,21 +32,80 @@ import org.springframework.cache.annotation.Cacheable;
 /**
  * A {@link DependencyManagementVersionResolver} that uses the metadata cache to store
  * dependency management resolution.
+ * <p>
+ * Concurrent cache misses for the same BOM are coalesced: the first caller resolves it
+ * while the others wait, up to a configurable timeout, for its result. A failed
+ * resolution is not cached and is attempted again by the next caller. Resolved versions
+ * are held as a {@link CompactVersionMap}.
  *
  * @author Stephane Nicoll
  */
 public class CacheableDependencyManagementVersionResolver implements DependencyManagementVersionResolver {
 
+	private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
 	private final DependencyManagementVersionResolver delegate;
 
+	private final Duration timeout;
+
+	private final ConcurrentMap<String, CompletableFuture<Map<String, String>>> inFlight = new ConcurrentHashMap<>();
+
 	public CacheableDependencyManagementVersionResolver(DependencyManagementVersionResolver delegate) {
+		this(delegate, DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * Create a new instance.
+	 * @param delegate the resolver to use
+	 * @param timeout how long to wait for a resolution of the same BOM that is already in
+	 * progress
+	 */
+	public CacheableDependencyManagementVersionResolver(DependencyManagementVersionResolver delegate,
+			Duration timeout) {
 		this.delegate = delegate;
+		this.timeout = timeout;
 	}
 
 	@Override
 	@Cacheable("initializr.metadata")
 	public Map<String, String> resolve(String groupId, String artifactId, String version) {
-		return this.delegate.resolve(groupId, artifactId, version);
+		String key = groupId + ":" + artifactId + ":" + version;
+		CompletableFuture<Map<String, String>> resolution = new CompletableFuture<>();
+		CompletableFuture<Map<String, String>> existing = this.inFlight.putIfAbsent(key, resolution);
+		if (existing != null) {
+			return await(key, existing);
+		}
+		try {
+			Map<String, String> versions = CompactVersionMap.of(this.delegate.resolve(groupId, artifactId, version));
+			resolution.complete(versions);
+			return versions;
+		}
+		catch (RuntimeException ex) {
+			resolution.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlight.remove(key, resolution);
+		}
+	}
+
+	private Map<String, String> await(String key, CompletableFuture<Map<String, String>> resolution) {
+		try {
+			return resolution.get(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the resolution of " + key, ex);
+		}
+		catch (TimeoutException ex) {
+			throw new IllegalStateException("Timed out waiting for the resolution of " + key, ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			throw new IllegalStateException("Failed to resolve " + key, ex.getCause());
+		}
 	}
 
 }
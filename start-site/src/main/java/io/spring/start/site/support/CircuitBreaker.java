@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A minimal circuit breaker: once a number of consecutive calls have failed, calls are
+ * rejected for a period of time, after which a single call is allowed through to probe
+ * whether the remote service has recovered. Other calls are rejected until the outcome of
+ * the probe is recorded: a success closes the circuit, a failure opens it again.
+ */
+public class CircuitBreaker {
+
+	private final int failureThreshold;
+
+	private final Duration openDuration;
+
+	private final Clock clock;
+
+	private int failures;
+
+	private Instant openUntil;
+
+	private boolean probing;
+
+	/**
+	 * Create a new instance.
+	 * @param failureThreshold the number of consecutive failures that open the circuit
+	 * @param openDuration how long the circuit stays open
+	 */
+	public CircuitBreaker(int failureThreshold, Duration openDuration) {
+		this(failureThreshold, openDuration, Clock.systemUTC());
+	}
+
+	CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+		this.failureThreshold = failureThreshold;
+		this.openDuration = openDuration;
+		this.clock = clock;
+	}
+
+	/**
+	 * Return whether a call is allowed. A call is allowed if the circuit is closed. Once
+	 * the circuit has been open for long enough, the first caller is allowed to probe the
+	 * remote service and must record the outcome of its call. Other callers are rejected
+	 * until it does.
+	 * @return {@code true} if a call is allowed
+	 */
+	public synchronized boolean allowRequest() {
+		if (this.openUntil == null) {
+			return true;
+		}
+		if (this.probing || this.clock.instant().isBefore(this.openUntil)) {
+			return false;
+		}
+		this.probing = true;
+		return true;
+	}
+
+	/**
+	 * Record a successful call, closing the circuit.
+	 */
+	public synchronized void recordSuccess() {
+		this.failures = 0;
+		this.openUntil = null;
+		this.probing = false;
+	}
+
+	/**
+	 * Record a failed call, opening the circuit if the threshold has been reached. A
+	 * failed probe opens the circuit again.
+	 */
+	public synchronized void recordFailure() {
+		this.failures++;
+		this.probing = false;
+		if (this.failures >= this.failureThreshold) {
+			this.openUntil = this.clock.instant().plus(this.openDuration);
+		}
+	}
+
+	/**
+	 * Return whether the circuit is open. Unlike {@link #allowRequest()}, this does not
+	 * let a probe through.
+	 * @return {@code true} if calls are currently rejected
+	 */
+	public synchronized boolean isOpen() {
+		return this.openUntil != null && (this.probing || this.clock.instant().isBefore(this.openUntil));
+	}
+
+}
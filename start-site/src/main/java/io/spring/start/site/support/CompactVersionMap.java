@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable, read-optimized map of {@code groupId:artifactId} coordinates to versions,
+ * as resolved from a BOM. Coordinates are kept in a sorted array and looked up using a
+ * binary search, and both coordinates and versions are interned so that the many BOMs
+ * cached at once, for every Spring Boot version and release train, share the same
+ * strings rather than holding a copy each.
+ */
+public final class CompactVersionMap extends AbstractMap<String, String> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final CompactVersionMap EMPTY = new CompactVersionMap(new String[0], new String[0]);
+
+	private final String[] coordinates;
+
+	private final String[] versions;
+
+	private transient Set<Entry<String, String>> entrySet;
+
+	private CompactVersionMap(String[] coordinates, String[] versions) {
+		this.coordinates = coordinates;
+		this.versions = versions;
+	}
+
+	/**
+	 * Create a {@link CompactVersionMap} with the content of the specified map.
+	 * @param versions a map of {@code groupId:artifactId} coordinates to versions
+	 * @return a compact copy of the specified map
+	 */
+	public static CompactVersionMap of(Map<String, String> versions) {
+		if (versions instanceof CompactVersionMap) {
+			return (CompactVersionMap) versions;
+		}
+		if (versions.isEmpty()) {
+			return EMPTY;
+		}
+		String[] coordinates = versions.keySet().toArray(new String[0]);
+		Arrays.sort(coordinates);
+		String[] values = new String[coordinates.length];
+		for (int i = 0; i < coordinates.length; i++) {
+			values[i] = versions.get(coordinates[i]);
+		}
+		return intern(coordinates, values);
+	}
+
+	private static CompactVersionMap intern(String[] coordinates, String[] versions) {
+		for (int i = 0; i < coordinates.length; i++) {
+			coordinates[i] = coordinates[i].intern();
+			versions[i] = (versions[i] != null) ? versions[i].intern() : null;
+		}
+		return new CompactVersionMap(coordinates, versions);
+	}
+
+	@Override
+	public String get(Object key) {
+		int index = indexOf(key);
+		return (index >= 0) ? this.versions[index] : null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public int size() {
+		return this.coordinates.length;
+	}
+
+	@Override
+	public Set<Entry<String, String>> entrySet() {
+		Set<Entry<String, String>> entrySet = this.entrySet;
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+			this.entrySet = entrySet;
+		}
+		return entrySet;
+	}
+
+	private int indexOf(Object key) {
+		return (key instanceof String) ? Arrays.binarySearch(this.coordinates, key) : -1;
+	}
+
+	private Object readResolve() {
+		return (this.coordinates.length != 0) ? intern(this.coordinates, this.versions) : EMPTY;
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<String, String>> {
+
+		@Override
+		public Iterator<Entry<String, String>> iterator() {
+			return new Iterator<Entry<String, String>>() {
+
+				private int index;
+
+				@Override
+				public boolean hasNext() {
+					return this.index < CompactVersionMap.this.coordinates.length;
+				}
+
+				@Override
+				public Entry<String, String> next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					int current = this.index++;
+					return new SimpleImmutableEntry<>(CompactVersionMap.this.coordinates[current],
+							CompactVersionMap.this.versions[current]);
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return CompactVersionMap.this.coordinates.length;
+		}
+
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An {@link Executor} that starts a new thread for each task and uses semaphores, rather
+ * than a pool of threads, to limit the number of tasks that run concurrently and the
+ * number of tasks that wait for their turn. Meant for virtual threads, which are cheap to
+ * create and to block but should not be pooled.
+ */
+public class ConcurrencyLimitingExecutor implements Executor {
+
+	private final ThreadFactory threadFactory;
+
+	private final Semaphore running;
+
+	private final Semaphore accepted;
+
+	/**
+	 * Create a new instance.
+	 * @param threadFactory the factory of the thread that runs each task
+	 * @param concurrency the maximum number of tasks that run concurrently
+	 * @param queueCapacity the maximum number of tasks that wait for a running task to
+	 * complete. Further tasks are rejected
+	 */
+	public ConcurrencyLimitingExecutor(ThreadFactory threadFactory, int concurrency, int queueCapacity) {
+		this.threadFactory = threadFactory;
+		this.running = new Semaphore(concurrency, true);
+		this.accepted = new Semaphore(concurrency + queueCapacity);
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		if (!this.accepted.tryAcquire()) {
+			throw new RejectedExecutionException("Too many tasks waiting to run");
+		}
+		try {
+			this.threadFactory.newThread(() -> run(task)).start();
+		}
+		catch (RuntimeException | Error ex) {
+			this.accepted.release();
+			throw ex;
+		}
+	}
+
+	private void run(Runnable task) {
+		try {
+			this.running.acquire();
+			try {
+				task.run();
+			}
+			finally {
+				this.running.release();
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			this.accepted.release();
+		}
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import io.spring.initializr.versionresolver.DependencyManagementVersionResolver;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * A {@link DependencyManagementVersionResolver} that keeps an index of the versions it
+ * has resolved in a file, so that a restarted node, or another node sharing the same
+ * directory, answers from the index rather than resolving the same BOMs again. The index
+ * can be seeded with a snapshot, typically shipped in the jar, so that a fresh node does
+ * not start cold.
+ * <p>
+ * The index is a gzipped binary file keyed by {@code groupId:artifactId:version}. It is
+ * rewritten atomically, merged with the entries written by other nodes in the meantime,
+ * every time a new BOM is resolved. A missing or unreadable index is ignored.
+ * <p>
+ * Snapshot BOMs, e.g. {@code 2.3.0.BUILD-SNAPSHOT} or {@code Hoxton.BUILD-SNAPSHOT}, change
+ * over time and are therefore never indexed: they are resolved by the delegate every
+ * time, so that they expire with the cache in front of this resolver.
+ */
+public class PersistentDependencyManagementVersionResolver implements DependencyManagementVersionResolver {
+
+	private static final Log logger = LogFactory.getLog(PersistentDependencyManagementVersionResolver.class);
+
+	private static final int FORMAT_VERSION = 1;
+
+	private final DependencyManagementVersionResolver delegate;
+
+	private final Path indexFile;
+
+	private final Map<String, Map<String, String>> index = new ConcurrentHashMap<>();
+
+	/**
+	 * Create a new instance.
+	 * @param delegate the resolver to use for versions that are not indexed yet
+	 * @param indexFile the file to store the index in
+	 * @param snapshot a pre-built index to start from, or {@code null}
+	 */
+	public PersistentDependencyManagementVersionResolver(DependencyManagementVersionResolver delegate,
+			Path indexFile, Resource snapshot) {
+		this.delegate = delegate;
+		this.indexFile = indexFile;
+		if (snapshot != null && snapshot.exists()) {
+			try (InputStream in = snapshot.getInputStream()) {
+				this.index.putAll(read(in));
+			}
+			catch (IOException ex) {
+				logger.warn("Ignoring unreadable version resolver snapshot " + snapshot, ex);
+			}
+		}
+		this.index.putAll(readIndexFile());
+	}
+
+	@Override
+	public Map<String, String> resolve(String groupId, String artifactId, String version) {
+		if (isSnapshot(version)) {
+			return CompactVersionMap.of(this.delegate.resolve(groupId, artifactId, version));
+		}
+		String key = groupId + ":" + artifactId + ":" + version;
+		Map<String, String> versions = this.index.get(key);
+		if (versions == null) {
+			versions = CompactVersionMap.of(this.delegate.resolve(groupId, artifactId, version));
+			this.index.put(key, versions);
+			save();
+		}
+		return versions;
+	}
+
+	/**
+	 * Return the number of indexed BOMs.
+	 * @return the size of the index
+	 */
+	public int size() {
+		return this.index.size();
+	}
+
+	private static boolean isSnapshot(String version) {
+		return version.toUpperCase(Locale.ROOT).endsWith("SNAPSHOT");
+	}
+
+	private synchronized void save() {
+		readIndexFile().forEach(this.index::putIfAbsent);
+		try {
+			Files.createDirectories(this.indexFile.getParent());
+			Path tempFile = Files.createTempFile(this.indexFile.getParent(), "index-", ".tmp");
+			try {
+				try (OutputStream out = Files.newOutputStream(tempFile)) {
+					write(this.index, out);
+				}
+				Files.move(tempFile, this.indexFile, StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally {
+				Files.deleteIfExists(tempFile);
+			}
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to write version resolver index " + this.indexFile, ex);
+		}
+	}
+
+	private Map<String, Map<String, String>> readIndexFile() {
+		if (!Files.exists(this.indexFile)) {
+			return Collections.emptyMap();
+		}
+		try (InputStream in = Files.newInputStream(this.indexFile)) {
+			return read(in);
+		}
+		catch (IOException ex) {
+			logger.warn("Ignoring unreadable version resolver index " + this.indexFile, ex);
+			return Collections.emptyMap();
+		}
+	}
+
+	/**
+	 * Write the specified index to the specified {@link OutputStream}. The stream is
+	 * closed.
+	 * @param index the index to write
+	 * @param out the stream to write to
+	 * @throws IOException if the index cannot be written
+	 */
+	static void write(Map<String, Map<String, String>> index, OutputStream out) throws IOException {
+		try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(out)))) {
+			data.writeInt(FORMAT_VERSION);
+			Map<String, Map<String, String>> entries = new LinkedHashMap<>(index);
+			data.writeInt(entries.size());
+			for (Map.Entry<String, Map<String, String>> entry : entries.entrySet()) {
+				data.writeUTF(entry.getKey());
+				data.writeInt(entry.getValue().size());
+				for (Map.Entry<String, String> version : entry.getValue().entrySet()) {
+					data.writeUTF(version.getKey());
+					data.writeUTF(version.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Read an index from the specified {@link InputStream}. Entries for snapshot BOMs,
+	 * written by a previous version of this resolver, are ignored.
+	 * @param in the stream to read from
+	 * @return the index
+	 * @throws IOException if the index cannot be read
+	 */
+	static Map<String, Map<String, String>> read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)));
+		int formatVersion = data.readInt();
+		if (formatVersion != FORMAT_VERSION) {
+			throw new IOException("Unsupported index format " + formatVersion);
+		}
+		int size = data.readInt();
+		Map<String, Map<String, String>> index = new LinkedHashMap<>(size * 2);
+		for (int i = 0; i < size; i++) {
+			String key = data.readUTF();
+			int count = data.readInt();
+			Map<String, String> versions = new LinkedHashMap<>(count * 2);
+			for (int j = 0; j < count; j++) {
+				versions.put(data.readUTF(), data.readUTF());
+			}
+			if (!isSnapshot(key)) {
+				index.put(key, CompactVersionMap.of(versions));
+			}
+		}
+		return index;
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Mustache.Compiler;
+import com.samskivert.mustache.Mustache.TemplateLoader;
+import com.samskivert.mustache.Template;
+import io.spring.initializr.generator.io.template.TemplateRenderer;
+
+import org.springframework.cache.Cache;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Render Mustache templates, keeping compiled templates in a dedicated {@link Cache},
+ * keyed by template name. Templates can be compiled ahead of time so that rendering a
+ * project does not parse any template.
+ * <p>
+ * This is not a {@link TemplateRenderer} so that, as a bean, it does not compete with the
+ * {@link TemplateRenderer} of the application: a consumer that needs one can use a
+ * reference to {@link #render(String, Map)}.
+ */
+public class PrecompiledTemplateRenderer {
+
+	private final Compiler mustache;
+
+	private final Cache templateCache;
+
+	public PrecompiledTemplateRenderer(String resourcePrefix, Cache templateCache) {
+		this.mustache = Mustache.compiler().withLoader(mustacheTemplateLoader(resourcePrefix)).escapeHTML(false);
+		this.templateCache = templateCache;
+	}
+
+	private static TemplateLoader mustacheTemplateLoader(String prefix) {
+		ResourceLoader resourceLoader = new DefaultResourceLoader();
+		String prefixToUse = prefix.endsWith("/") ? prefix : prefix + "/";
+		return (name) -> {
+			String location = prefixToUse + name + ".mustache";
+			return new InputStreamReader(resourceLoader.getResource(location).getInputStream(),
+					StandardCharsets.UTF_8);
+		};
+	}
+
+	/**
+	 * Compile the specified templates and add them to the cache.
+	 * @param templateNames the names of the templates to compile
+	 */
+	public void compile(Collection<String> templateNames) {
+		templateNames.forEach(this::getTemplate);
+	}
+
+	/**
+	 * Render the specified template with the specified model.
+	 * @param templateName the name of the template
+	 * @param model the model to use
+	 * @return the rendered template
+	 */
+	public String render(String templateName, Map<String, ?> model) {
+		Template template = getTemplate(templateName);
+		return template.execute(model);
+	}
+
+	private Template getTemplate(String name) {
+		return this.templateCache.get(name, () -> loadTemplate(name));
+	}
+
+	private Template loadTemplate(String name) throws Exception {
+		try (Reader template = this.mustache.loader.getTemplate(name)) {
+			return this.mustache.compile(template);
+		}
+	}
+
+}
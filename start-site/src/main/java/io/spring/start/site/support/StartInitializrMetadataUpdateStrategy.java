@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2019 the original author or authors.
+ * Copyright 2012-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,14 @@
 
 package io.spring.start.site.support;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -24,24 +31,120 @@ import io.spring.initializr.generator.version.Version;
 import io.spring.initializr.metadata.DefaultMetadataElement;
 import io.spring.initializr.web.support.DefaultInitializrMetadataUpdateStrategy;
 import io.spring.initializr.web.support.InitializrMetadataUpdateStrategy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * A custom {@link InitializrMetadataUpdateStrategy} for start.spring.io that filters
  * certain versions that are still available on spring.io but that we don't want users to
  * chose to start a brand new project.
+ * <p>
+ * If a refresh interval is set, the Spring Boot versions are fetched in the background
+ * rather than on the request path: the last known good versions are served immediately
+ * and replaced atomically once a refresh succeeds. A {@link CircuitBreaker} stops calling
+ * spring.io for a while after repeated failures. Nothing is fetched if the Spring Boot
+ * metadata url is empty.
  *
  * @author Stephane Nicoll
  */
-public class StartInitializrMetadataUpdateStrategy extends DefaultInitializrMetadataUpdateStrategy {
+public class StartInitializrMetadataUpdateStrategy extends DefaultInitializrMetadataUpdateStrategy
+		implements DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(StartInitializrMetadataUpdateStrategy.class);
+
+	private final Duration refreshInterval;
+
+	private final CircuitBreaker circuitBreaker;
+
+	private final AtomicReference<List<DefaultMetadataElement>> springBootVersions = new AtomicReference<>();
+
+	private ScheduledExecutorService scheduler;
 
 	public StartInitializrMetadataUpdateStrategy(RestTemplate restTemplate, ObjectMapper objectMapper) {
+		this(restTemplate, objectMapper, null, null);
+	}
+
+	/**
+	 * Create a new instance that refreshes the Spring Boot versions in the background.
+	 * @param restTemplate the rest template to use
+	 * @param objectMapper the object mapper to use
+	 * @param refreshInterval the interval between two refreshes, or {@code null} to fetch
+	 * the versions every time the metadata is updated
+	 * @param circuitBreaker the circuit breaker to guard calls to spring.io, or
+	 * {@code null}
+	 */
+	public StartInitializrMetadataUpdateStrategy(RestTemplate restTemplate, ObjectMapper objectMapper,
+			Duration refreshInterval, CircuitBreaker circuitBreaker) {
 		super(restTemplate, objectMapper);
+		this.refreshInterval = refreshInterval;
+		this.circuitBreaker = circuitBreaker;
 	}
 
 	@Override
 	protected List<DefaultMetadataElement> fetchSpringBootVersions(String url) {
+		if (!StringUtils.hasText(url)) {
+			// Remote metadata disabled, keep the versions of the configuration
+			return null;
+		}
+		if (this.refreshInterval == null) {
+			return fetchStartGenerationVersions(url);
+		}
+		List<DefaultMetadataElement> versions = this.springBootVersions.get();
+		if (versions == null) {
+			// Nothing to serve yet, fetch the versions once on the caller thread
+			versions = refresh(url);
+			scheduleRefresh(url);
+		}
+		return (versions != null) ? new ArrayList<>(versions) : null;
+	}
+
+	private synchronized void scheduleRefresh(String url) {
+		if (this.scheduler == null) {
+			this.scheduler = Executors
+					.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("metadata-refresh-"));
+			long interval = this.refreshInterval.toMillis();
+			this.scheduler.scheduleWithFixedDelay(() -> refresh(url), interval, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Fetch the Spring Boot versions and, if that succeeds, make them the last known good
+	 * versions.
+	 * @param url the url of the Spring Boot metadata
+	 * @return the last known good versions, or {@code null} if no fetch succeeded yet
+	 */
+	List<DefaultMetadataElement> refresh(String url) {
+		if (this.circuitBreaker != null && !this.circuitBreaker.allowRequest()) {
+			logger.debug("Not fetching Spring Boot versions, circuit breaker is open");
+			return this.springBootVersions.get();
+		}
+		List<DefaultMetadataElement> versions = null;
+		try {
+			versions = fetchStartGenerationVersions(url);
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to fetch Spring Boot versions", ex);
+		}
+		if (versions != null) {
+			this.springBootVersions.set(Collections.unmodifiableList(versions));
+		}
+		if (this.circuitBreaker != null) {
+			if (versions != null) {
+				this.circuitBreaker.recordSuccess();
+			}
+			else {
+				this.circuitBreaker.recordFailure();
+			}
+		}
+		return this.springBootVersions.get();
+	}
+
+	private List<DefaultMetadataElement> fetchStartGenerationVersions(String url) {
 		List<DefaultMetadataElement> versions = super.fetchSpringBootVersions(url);
 		if (versions != null) {
 			return versions.stream().filter(this::isStartGenerationVersion).collect(Collectors.toList());
@@ -60,4 +163,11 @@ public class StartInitializrMetadataUpdateStrategy extends DefaultInitializrMeta
 		return true;
 	}
 
+	@Override
+	public synchronized void destroy() {
+		if (this.scheduler != null) {
+			this.scheduler.shutdownNow();
+		}
+	}
+
 }
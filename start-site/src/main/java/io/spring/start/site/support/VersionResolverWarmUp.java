@@ -0,0 +1,186 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.metadata.BillOfMaterials;
+import io.spring.initializr.metadata.DefaultMetadataElement;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.versionresolver.DependencyManagementVersionResolver;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Resolve, once the application is ready, the dependency management of every BOM that
+ * the available Spring Boot versions can use, so that the first request that needs one
+ * of them does not pay for its resolution. This covers {@code spring-boot-dependencies}
+ * for each Spring Boot version, as well as each BOM declared in
+ * {@code initializr.env.boms} that has a mapping for that version.
+ * <p>
+ * BOMs are resolved in parallel on a bounded pool that is shut down once the warm-up
+ * completes. A BOM that fails to resolve is logged and left to be resolved on first use.
+ */
+public class VersionResolverWarmUp implements ApplicationListener<ApplicationReadyEvent> {
+
+	private static final Log logger = LogFactory.getLog(VersionResolverWarmUp.class);
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final DependencyManagementVersionResolver resolver;
+
+	private final int threads;
+
+	private final AtomicInteger resolved = new AtomicInteger();
+
+	private final AtomicInteger failed = new AtomicInteger();
+
+	private volatile int total = -1;
+
+	private volatile CompletableFuture<Void> completion;
+
+	/**
+	 * Create a new instance.
+	 * @param metadataProvider the provider of the metadata
+	 * @param resolver the resolver to warm up
+	 * @param threads the maximum number of BOMs to resolve concurrently
+	 */
+	public VersionResolverWarmUp(InitializrMetadataProvider metadataProvider,
+			DependencyManagementVersionResolver resolver, int threads) {
+		this.metadataProvider = metadataProvider;
+		this.resolver = resolver;
+		this.threads = threads;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		start();
+	}
+
+	/**
+	 * Start the warm-up, unless it has been started already.
+	 * @return a future that completes once every BOM has been resolved or has failed
+	 */
+	public synchronized CompletableFuture<Void> start() {
+		if (this.completion == null) {
+			ExecutorService executor = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(), new CustomizableThreadFactory("version-resolver-warm-up-"));
+			this.completion = CompletableFuture.supplyAsync(this::resolveBoms, executor)
+					.thenCompose((boms) -> warmUp(boms, executor))
+					.whenComplete((result, ex) -> executor.shutdown());
+		}
+		return this.completion;
+	}
+
+	private CompletableFuture<Void> warmUp(Collection<BillOfMaterials> boms, ExecutorService executor) {
+		this.total = boms.size();
+		logger.info("Resolving " + boms.size() + " BOMs");
+		List<CompletableFuture<?>> futures = new ArrayList<>();
+		for (BillOfMaterials bom : boms) {
+			futures.add(CompletableFuture.runAsync(() -> resolve(bom), executor));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+				.thenRun(() -> logger.info("Resolved " + this.resolved.get() + " BOMs, " + this.failed.get()
+						+ " failed"));
+	}
+
+	private void resolve(BillOfMaterials bom) {
+		try {
+			this.resolver.resolve(bom.getGroupId(), bom.getArtifactId(), bom.getVersion());
+			this.resolved.incrementAndGet();
+		}
+		catch (RuntimeException ex) {
+			this.failed.incrementAndGet();
+			logger.warn("Failed to resolve " + bom.getGroupId() + ":" + bom.getArtifactId() + ":"
+					+ bom.getVersion(), ex);
+		}
+	}
+
+	private Collection<BillOfMaterials> resolveBoms() {
+		InitializrMetadata metadata = this.metadataProvider.get();
+		Map<String, BillOfMaterials> boms = new LinkedHashMap<>();
+		for (DefaultMetadataElement bootVersion : metadata.getBootVersions().getContent()) {
+			Version version = Version.parse(bootVersion.getId());
+			addBom(boms, BillOfMaterials.create("org.springframework.boot", "spring-boot-dependencies",
+					bootVersion.getId()));
+			for (BillOfMaterials bom : metadata.getConfiguration().getEnv().getBoms().values()) {
+				BillOfMaterials resolvedBom = resolveBom(bom, version);
+				if (resolvedBom != null && resolvedBom.getVersion() != null) {
+					addBom(boms, resolvedBom);
+				}
+			}
+		}
+		return boms.values();
+	}
+
+	private void addBom(Map<String, BillOfMaterials> boms, BillOfMaterials bom) {
+		boms.putIfAbsent(bom.getGroupId() + ":" + bom.getArtifactId() + ":" + bom.getVersion(), bom);
+	}
+
+	private BillOfMaterials resolveBom(BillOfMaterials bom, Version bootVersion) {
+		try {
+			return bom.resolve(bootVersion);
+		}
+		catch (IllegalStateException ex) {
+			// No mapping for that version
+			return null;
+		}
+	}
+
+	/**
+	 * Return whether the warm-up has completed.
+	 * @return {@code true} if every BOM has been resolved or has failed
+	 */
+	public boolean isComplete() {
+		CompletableFuture<Void> completion = this.completion;
+		return completion != null && completion.isDone();
+	}
+
+	/**
+	 * Return the number of BOMs to resolve, or {@code -1} if they have not been
+	 * determined yet.
+	 * @return the number of BOMs to resolve
+	 */
+	public int getTotal() {
+		return this.total;
+	}
+
+	public int getResolved() {
+		return this.resolved.get();
+	}
+
+	public int getFailed() {
+		return this.failed.get();
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * A {@link HealthIndicator} that reports the node as out of service until the
+ * {@link VersionResolverWarmUp} has completed, so that load balancers only route
+ * requests to warm nodes.
+ */
+public class VersionResolverWarmUpHealthIndicator extends AbstractHealthIndicator {
+
+	private final VersionResolverWarmUp warmUp;
+
+	public VersionResolverWarmUpHealthIndicator(VersionResolverWarmUp warmUp) {
+		super("Version resolver warm-up health check failed");
+		this.warmUp = warmUp;
+	}
+
+	@Override
+	protected void doHealthCheck(Health.Builder builder) {
+		if (this.warmUp.isComplete()) {
+			builder.up();
+		}
+		else {
+			builder.outOfService();
+		}
+		builder.withDetail("total", this.warmUp.getTotal()).withDetail("resolved", this.warmUp.getResolved())
+				.withDetail("failed", this.warmUp.getFailed());
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Create {@link ThreadFactory thread factories} that use virtual threads when the JVM
+ * supports them. Virtual threads are looked up reflectively so that the application
+ * still runs, with platform threads, on a JVM that does not support them. They are only
+ * used as of Java 21: on Java 19 and 20, they are a preview feature that fails unless it
+ * is enabled explicitly.
+ */
+public final class VirtualThreads {
+
+	private static final String BUILDER_CLASS_NAME = "java.lang.Thread$Builder";
+
+	private static final int MINIMUM_FEATURE_VERSION = 21;
+
+	private static final boolean AVAILABLE = getFeatureVersion() >= MINIMUM_FEATURE_VERSION
+			&& ClassUtils.isPresent(BUILDER_CLASS_NAME, null) && ClassUtils.hasMethod(Thread.class, "ofVirtual");
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * Return whether the JVM supports virtual threads.
+	 * @return {@code true} if virtual threads are available
+	 */
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+
+	/**
+	 * Create a {@link ThreadFactory} for threads whose name start with the specified
+	 * prefix. Threads are virtual if the JVM supports them and {@code virtual} is
+	 * {@code true}, otherwise daemon platform threads are created.
+	 * @param prefix the prefix of the names of the threads
+	 * @param virtual whether to use virtual threads, if available
+	 * @return a thread factory
+	 */
+	public static ThreadFactory threadFactory(String prefix, boolean virtual) {
+		if (virtual && isAvailable()) {
+			return virtualThreadFactory(prefix);
+		}
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	private static ThreadFactory virtualThreadFactory(String prefix) {
+		try {
+			Class<?> builderClass = ClassUtils.forName(BUILDER_CLASS_NAME, null);
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Method name = builderClass.getMethod("name", String.class, long.class);
+			builder = name.invoke(builder, prefix, 1L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		}
+		catch (Exception ex) {
+			ReflectionUtils.handleReflectionException(ex);
+			throw new IllegalStateException("Failed to create a virtual thread factory", ex);
+		}
+	}
+
+	private static int getFeatureVersion() {
+		Method version = ReflectionUtils.findMethod(Runtime.class, "version");
+		if (version == null) {
+			return 8;
+		}
+		Object runtimeVersion = ReflectionUtils.invokeMethod(version, null);
+		Method feature = ReflectionUtils.findMethod(runtimeVersion.getClass(), "feature");
+		return (feature != null) ? (int) ReflectionUtils.invokeMethod(feature, runtimeVersion) : 9;
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+/**
+ * Generate projects on a dedicated executor rather than on the thread of the web server
+ * that received the request, so that slow generations, e.g. when a BOM has to be
+ * resolved, cannot exhaust the threads of the web server. The request is processed
+ * asynchronously by Spring MVC: the generation produces a {@link ResponseEntity} on the
+ * executor and the request is dispatched back to the web server to write it, so the
+ * response is never written by a generation thread.
+ * <p>
+ * The executor bounds the number of concurrent generations and of waiting requests. A
+ * request that cannot be queued is rejected with a {@link HttpStatus#SERVICE_UNAVAILABLE
+ * 503} status, as is a request that is not generated within the timeout. A generation
+ * that times out is cancelled: it is not started if it is still waiting, otherwise the
+ * thread that runs it is interrupted. An executor service is shut down when this instance
+ * is destroyed.
+ */
+public class ProjectGenerationExecutor implements DisposableBean {
+
+	private final Executor executor;
+
+	private final Duration timeout;
+
+	/**
+	 * Create a new instance.
+	 * @param executor the executor to generate projects on
+	 * @param timeout the maximum time to generate a project, including the time spent
+	 * waiting in the queue of the executor
+	 */
+	public ProjectGenerationExecutor(Executor executor, Duration timeout) {
+		this.executor = executor;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Run the specified generation on the executor. Must be invoked by a handler method
+	 * that returns a {@link ResponseEntity}, which should in turn return the result of
+	 * this method.
+	 * @param generation the generation to run
+	 * @param <T> the type of the body of the response
+	 * @return {@code null} if the request is processed asynchronously, or a response
+	 * with a 503 status if the executor is saturated
+	 */
+	public <T> ResponseEntity<T> submit(Callable<ResponseEntity<T>> generation) {
+		DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(this.timeout.toMillis(),
+				() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+		FutureTask<Void> task = new FutureTask<>(() -> generate(generation, result), null);
+		result.onTimeout(() -> task.cancel(true));
+		try {
+			this.executor.execute(task);
+		}
+		catch (RejectedExecutionException ex) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		}
+		try {
+			getAsyncManager().startDeferredResultProcessing(result);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException("Failed to process request asynchronously", ex);
+		}
+		return null;
+	}
+
+	private <T> void generate(Callable<ResponseEntity<T>> generation, DeferredResult<ResponseEntity<T>> result) {
+		if (result.isSetOrExpired()) {
+			return;
+		}
+		try {
+			result.setResult(generation.call());
+		}
+		catch (Throwable ex) {
+			result.setErrorResult(ex);
+		}
+	}
+
+	private WebAsyncManager getAsyncManager() {
+		return WebAsyncUtils.getAsyncManager(
+				((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest());
+	}
+
+	/**
+	 * Return the executor that generates projects.
+	 * @return the executor
+	 */
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	@Override
+	public void destroy() {
+		if (this.executor instanceof ExecutorService) {
+			((ExecutorService) this.executor).shutdown();
+		}
+	}
+
+}
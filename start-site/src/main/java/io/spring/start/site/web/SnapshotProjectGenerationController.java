@@ -0,0 +1,149 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.start.site.StartProperties;
+import io.spring.start.site.generation.InMemoryProjectTree;
+import io.spring.start.site.generation.ProjectArchiveCache;
+import io.spring.start.site.generation.ProjectArchiver;
+import io.spring.start.site.generation.ProjectDescriptionDigest;
+import io.spring.start.site.generation.ProjectGenerationMetrics;
+import io.spring.start.site.generation.ProjectSnapshots;
+import io.spring.start.site.generation.ProjectSnapshots.ProjectDiff;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * A {@link StartProjectGenerationController} that keeps {@link ProjectSnapshots
+ * snapshots} of the generated projects, so that a project can also be downloaded as an
+ * archive of the files that changed since a previous snapshot of it, e.g. when the user
+ * of the web UI toggles a dependency and previews the project again. The project is still
+ * generated in full: only the size of the archive that is transferred is reduced. Only
+ * used when snapshots are enabled, so that {@code /starter-changes.zip} and
+ * {@code /starter-changes.txt} are not mapped otherwise.
+ */
+public class SnapshotProjectGenerationController extends StartProjectGenerationController {
+
+	static final String SNAPSHOT_HEADER = "X-Project-Snapshot";
+
+	static final String INCREMENTAL_HEADER = "X-Project-Incremental";
+
+	private final ProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker;
+
+	private final ProjectDescriptionDigest projectDescriptionDigest;
+
+	private final ProjectSnapshots snapshots;
+
+	private final ProjectArchiver archiver = new ProjectArchiver();
+
+	/**
+	 * Create a new instance.
+	 * @param metadataProvider the metadata provider
+	 * @param projectGenerationInvoker the project generation invoker
+	 * @param properties the configuration of the website
+	 * @param projectDescriptionDigest the digest to use to identify a project
+	 * @param archiveCache the cache of generated archives, or {@code null} if archives are
+	 * not cached
+	 * @param metrics the metrics to publish the statistics of generated archives to, or
+	 * {@code null} if they are not collected
+	 * @param executor the executor to generate archives on, or {@code null} to generate
+	 * them on the thread that handles the request
+	 * @param snapshots the snapshots of the generated projects
+	 */
+	public SnapshotProjectGenerationController(InitializrMetadataProvider metadataProvider,
+			ProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker, StartProperties properties,
+			ProjectDescriptionDigest projectDescriptionDigest, ProjectArchiveCache archiveCache,
+			ProjectGenerationMetrics metrics, ProjectGenerationExecutor executor, ProjectSnapshots snapshots) {
+		super(metadataProvider, projectGenerationInvoker, properties, projectDescriptionDigest, archiveCache, metrics,
+				executor);
+		this.projectGenerationInvoker = projectGenerationInvoker;
+		this.projectDescriptionDigest = projectDescriptionDigest;
+		this.snapshots = snapshots;
+	}
+
+	/**
+	 * Generate the project described by the specified request and return a zip archive
+	 * of the files that were added or modified since the specified snapshot. The snapshot
+	 * of the project is returned in the {@value #SNAPSHOT_HEADER} header. If the previous
+	 * snapshot is unknown, the archive contains every file of the project. The files that
+	 * no longer exist are listed by {@link #springChangesManifest(String, String)}.
+	 * @param request the request to handle
+	 * @param previousSnapshot the snapshot returned by a previous request, if any
+	 * @return the archive of the changed files
+	 * @throws IOException if the archive cannot be written
+	 */
+	@RequestMapping(path = "/starter-changes.zip", method = { RequestMethod.GET, RequestMethod.POST })
+	public ResponseEntity<byte[]> springChanges(ProjectRequest request,
+			@RequestParam(name = "since", required = false) String previousSnapshot) throws IOException {
+		return measure(request, () -> generateChanges(request, previousSnapshot));
+	}
+
+	/**
+	 * Return the files of a previous snapshot that no longer exist in the specified
+	 * snapshot, one per line. Both snapshots must still be known.
+	 * @param previousSnapshot the previous snapshot
+	 * @param snapshot the snapshot returned by {@link #springChanges(ProjectRequest, String)}
+	 * @return the removed files, or a 404 status if either snapshot is unknown
+	 */
+	@GetMapping(path = "/starter-changes.txt")
+	public ResponseEntity<String> springChangesManifest(@RequestParam(name = "since") String previousSnapshot,
+			@RequestParam(name = "snapshot") String snapshot) {
+		List<String> removedFiles = this.snapshots.removedFiles(previousSnapshot, snapshot);
+		if (removedFiles == null) {
+			return ResponseEntity.notFound().build();
+		}
+		StringBuilder content = new StringBuilder();
+		removedFiles.forEach((name) -> content.append(name).append('\n'));
+		return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(content.toString());
+	}
+
+	private ResponseEntity<byte[]> generateChanges(ProjectRequest request, String previousSnapshot)
+			throws IOException {
+		String snapshot = this.projectDescriptionDigest.digest(request, "changes");
+		InMemoryProjectTree tree = new InMemoryProjectTree();
+		ProjectGenerationResult result = invokeProjectStructureGeneration(request, tree);
+		Path rootDirectory = result.getRootDirectory();
+		try {
+			ProjectDiff diff = this.snapshots.diff(previousSnapshot, snapshot,
+					this.archiver.readFiles(rootDirectory, tree));
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			this.archiver.writeZip(rootDirectory, tree, out, diff.getChangedFiles()::contains);
+			return ResponseEntity.ok().header("Content-Type", "application/zip")
+					.header("Content-Disposition", contentDisposition(generateFileName(request, "zip")))
+					.header(SNAPSHOT_HEADER, diff.getSnapshot())
+					.header(INCREMENTAL_HEADER, String.valueOf(diff.isIncremental())).body(out.toByteArray());
+		}
+		finally {
+			this.projectGenerationInvoker.cleanTempFiles(rootDirectory);
+		}
+	}
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.file.Path;
+
+import javax.servlet.http.HttpServletResponse;
+
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.metadata.Type;
+import io.spring.initializr.web.controller.DefaultProjectGenerationController;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectGenerationResult;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.start.site.StartProperties;
+import io.spring.start.site.generation.InMemoryProjectTree;
+import io.spring.start.site.generation.ProjectArchiveCache;
+import io.spring.start.site.generation.ProjectArchiveCache.PendingArchive;
+import io.spring.start.site.generation.ProjectArchiver;
+import io.spring.start.site.generation.ProjectDescriptionDigest;
+import io.spring.start.site.generation.ProjectGenerationMetrics;
+import io.spring.start.site.generation.ProjectOutput;
+import io.spring.start.site.generation.ProjectOutputHolder;
+import io.spring.start.site.generation.ProjectStatistics;
+import io.spring.start.site.generation.StreamingZipProjectOutput;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * A {@link DefaultProjectGenerationController} that can keep the files of the project
+ * in memory and write them straight to the archive, rather than writing them to a
+ * temporary directory first. Zip archives can also be streamed to the response while the
+ * project is generated. Generated archives can be cached, keyed by the
+ * {@link ProjectDescriptionDigest digest} of the project they contain, unless the project
+ * uses a snapshot platform version. Archives can be
+ * generated on a dedicated {@link ProjectGenerationExecutor executor}, unless they are
+ * streamed.
+ *
+ * @see SnapshotProjectGenerationController
+ */
+public class StartProjectGenerationController extends DefaultProjectGenerationController {
+
+	private final ProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker;
+
+	private final StartProperties properties;
+
+	private final ProjectDescriptionDigest projectDescriptionDigest;
+
+	private final ProjectArchiveCache archiveCache;
+
+	private final ProjectGenerationMetrics metrics;
+
+	private final ProjectGenerationExecutor executor;
+
+	private final InitializrMetadataProvider metadataProvider;
+
+	private final ProjectArchiver archiver = new ProjectArchiver();
+
+	/**
+	 * Create a new instance.
+	 * @param metadataProvider the metadata provider
+	 * @param projectGenerationInvoker the project generation invoker
+	 * @param properties the configuration of the website
+	 * @param projectDescriptionDigest the digest to use to identify a project, or
+	 * {@code null} if archives are not cached
+	 * @param archiveCache the cache of generated archives, or {@code null} if archives are
+	 * not cached
+	 * @param metrics the metrics to publish the statistics of generated archives to, or
+	 * {@code null} if they are not collected
+	 * @param executor the executor to generate archives on, or {@code null} to generate
+	 * them on the thread that handles the request
+	 */
+	public StartProjectGenerationController(InitializrMetadataProvider metadataProvider,
+			ProjectGenerationInvoker<ProjectRequest> projectGenerationInvoker, StartProperties properties,
+			ProjectDescriptionDigest projectDescriptionDigest, ProjectArchiveCache archiveCache,
+			ProjectGenerationMetrics metrics, ProjectGenerationExecutor executor) {
+		super(metadataProvider, projectGenerationInvoker);
+		this.metadataProvider = metadataProvider;
+		this.projectGenerationInvoker = projectGenerationInvoker;
+		this.properties = properties;
+		this.projectDescriptionDigest = projectDescriptionDigest;
+		this.archiveCache = archiveCache;
+		this.metrics = metrics;
+		this.executor = executor;
+	}
+
+	@Override
+	public ResponseEntity<byte[]> springZip(ProjectRequest request) throws IOException {
+		if (this.executor != null && !this.properties.getGeneration().isStreaming()) {
+			return this.executor.submit(() -> generateZip(request));
+		}
+		return generateZip(request);
+	}
+
+	@Override
+	public ResponseEntity<byte[]> springTgz(ProjectRequest request) throws IOException {
+		if (this.executor != null) {
+			return this.executor.submit(() -> generateTgz(request));
+		}
+		return generateTgz(request);
+	}
+
+	private ResponseEntity<byte[]> generateZip(ProjectRequest request) throws IOException {
+		String cacheKey = getCacheKey(request, "zip");
+		byte[] cached = getCachedArchive(cacheKey);
+		if (cached != null) {
+			return createResponseEntity(cached, "application/zip", generateFileName(request, "zip"));
+		}
+		if (this.properties.getGeneration().isStreaming()) {
+			return measure(request, () -> {
+				stream(request, cacheKey);
+				return null;
+			});
+		}
+		ResponseEntity<byte[]> response = measure(request,
+				() -> (this.properties.getGeneration().isInMemory())
+						? generate(request, "zip", "application/zip", this.archiver::writeZip)
+						: super.springZip(request));
+		cacheArchive(cacheKey, response);
+		return response;
+	}
+
+	private ResponseEntity<byte[]> generateTgz(ProjectRequest request) throws IOException {
+		String cacheKey = getCacheKey(request, "tgz");
+		byte[] cached = getCachedArchive(cacheKey);
+		if (cached != null) {
+			return createResponseEntity(cached, "application/x-compress", generateFileName(request, "tar.gz"));
+		}
+		ResponseEntity<byte[]> response = measure(request,
+				() -> (this.properties.getGeneration().isInMemory())
+						? generate(request, "tar.gz", "application/x-compress", this.archiver::writeTgz)
+						: super.springTgz(request));
+		cacheArchive(cacheKey, response);
+		return response;
+	}
+
+	ResponseEntity<byte[]> measure(ProjectRequest request, ArchiveGeneration generation) throws IOException {
+		if (this.metrics == null) {
+			return generation.generate();
+		}
+		try {
+			return this.metrics.measure(getBuildSystem(request), request.getPackaging(), () -> {
+				ResponseEntity<byte[]> response = generation.generate();
+				if (response != null && response.getBody() != null) {
+					ProjectStatistics.current().recordArchiveSize(response.getBody().length);
+				}
+				return response;
+			});
+		}
+		catch (IOException | RuntimeException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException("Failed to generate project", ex);
+		}
+	}
+
+	private String getBuildSystem(ProjectRequest request) {
+		Type type = this.metadataProvider.get().getTypes().get(request.getType());
+		return (type != null) ? type.getTags().get("build") : null;
+	}
+
+	private String getCacheKey(ProjectRequest request, String archiveType) {
+		return (this.archiveCache != null) ? this.projectDescriptionDigest.cacheKey(request, archiveType) : null;
+	}
+
+	private byte[] getCachedArchive(String cacheKey) {
+		return (cacheKey != null) ? this.archiveCache.get(cacheKey) : null;
+	}
+
+	private void cacheArchive(String cacheKey, ResponseEntity<byte[]> response) throws IOException {
+		if (cacheKey != null && response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+			this.archiveCache.put(cacheKey, response.getBody());
+		}
+	}
+
+	private ResponseEntity<byte[]> generate(ProjectRequest request, String extension, String contentType,
+			ArchiveWriter archiveWriter) throws IOException {
+		InMemoryProjectTree tree = new InMemoryProjectTree();
+		ProjectGenerationResult result = invokeProjectStructureGeneration(request, tree);
+		Path rootDirectory = result.getRootDirectory();
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			archiveWriter.write(rootDirectory, tree, out);
+			return createResponseEntity(out.toByteArray(), contentType, generateFileName(request, extension));
+		}
+		finally {
+			this.projectGenerationInvoker.cleanTempFiles(rootDirectory);
+		}
+	}
+
+	private void stream(ProjectRequest request, String cacheKey) throws IOException {
+		HttpServletResponse response = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+				.getResponse();
+		try (PendingArchive pendingArchive = (cacheKey != null) ? this.archiveCache.store(cacheKey) : null) {
+			StreamingZipProjectOutput output = new StreamingZipProjectOutput(() -> {
+				response.setContentType("application/zip");
+				response.setHeader("Content-Disposition", contentDisposition(generateFileName(request, "zip")));
+				OutputStream out = response.getOutputStream();
+				return (pendingArchive != null) ? new TeeOutputStream(out, pendingArchive) : out;
+			});
+			ProjectGenerationResult result = invokeProjectStructureGeneration(request, output);
+			try {
+				output.finish();
+			}
+			finally {
+				this.projectGenerationInvoker.cleanTempFiles(result.getRootDirectory());
+			}
+			if (pendingArchive != null) {
+				pendingArchive.commit();
+			}
+		}
+	}
+
+	ProjectGenerationResult invokeProjectStructureGeneration(ProjectRequest request, ProjectOutput output) {
+		try {
+			return ProjectOutputHolder.invoke(output,
+					() -> this.projectGenerationInvoker.invokeProjectStructureGeneration(request));
+		}
+		catch (RuntimeException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException("Failed to generate project", ex);
+		}
+	}
+
+	String generateFileName(ProjectRequest request, String extension) {
+		String candidate = (StringUtils.hasText(request.getArtifactId()) ? request.getArtifactId() : "demo");
+		String tmp = candidate.replaceAll(" ", "_");
+		try {
+			return URLEncoder.encode(tmp, "UTF-8") + "." + extension;
+		}
+		catch (UnsupportedEncodingException ex) {
+			throw new IllegalStateException("Cannot encode URL", ex);
+		}
+	}
+
+	private ResponseEntity<byte[]> createResponseEntity(byte[] content, String contentType, String fileName) {
+		return ResponseEntity.ok().header("Content-Type", contentType)
+				.header("Content-Disposition", contentDisposition(fileName)).body(content);
+	}
+
+	String contentDisposition(String fileName) {
+		return "attachment; filename=\"" + fileName + "\"";
+	}
+
+	/**
+	 * An {@link OutputStream} that copies what is written to the response to the pending
+	 * archive of the cache.
+	 */
+	private static final class TeeOutputStream extends FilterOutputStream {
+
+		private final OutputStream copy;
+
+		private TeeOutputStream(OutputStream out, OutputStream copy) {
+			super(out);
+			this.copy = copy;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.out.write(b);
+			this.copy.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.out.write(b, off, len);
+			this.copy.write(b, off, len);
+		}
+
+	}
+
+	@FunctionalInterface
+	interface ArchiveGeneration {
+
+		ResponseEntity<byte[]> generate() throws IOException;
+
+	}
+
+	@FunctionalInterface
+	private interface ArchiveWriter {
+
+		void write(Path rootDirectory, InMemoryProjectTree tree, OutputStream out) throws IOException;
+
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.buildsystem.maven2;
+
+import java.io.StringWriter;
+
+import io.spring.initializr.generator.buildsystem.DependencyScope;
+import io.spring.initializr.generator.buildsystem.MavenRepository;
+import io.spring.initializr.generator.io.IndentingWriter;
+import io.spring.initializr.generator.io.SimpleIndentStrategy;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MavenBuildWriter}.
+ */
+class MavenBuildWriterTests {
+
+	@Test
+	void pomStartsWithProjectHeader() {
+		MavenBuild build = new MavenBuild();
+		build.settings().coordinates("com.example.demo", "demo");
+		String pom = write(build);
+		assertThat(pom).startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<project ");
+		assertThat(pom).contains("<modelVersion>4.0.0</modelVersion>", "<groupId>com.example.demo</groupId>",
+				"<artifactId>demo</artifactId>");
+		assertThat(pom).endsWith("</project>\n");
+	}
+
+	@Test
+	void dependenciesAreGroupedByScope() {
+		MavenBuild build = new MavenBuild();
+		build.settings().coordinates("com.example.demo", "demo");
+		build.dependencies().add("test", "com.example", "test", DependencyScope.TEST_COMPILE);
+		build.dependencies().add("runtime", "com.example", "runtime", DependencyScope.RUNTIME);
+		build.dependencies().add("web", "com.example", "web", DependencyScope.COMPILE);
+		build.dependencies().add("processor", "com.example", "processor", DependencyScope.ANNOTATION_PROCESSOR);
+		build.dependencies().add("another", "com.example", "another", DependencyScope.COMPILE);
+		String pom = write(build);
+		assertThat(pom).containsSubsequence("<artifactId>another</artifactId>", "<artifactId>web</artifactId>",
+				"<artifactId>runtime</artifactId>", "<artifactId>processor</artifactId>",
+				"<artifactId>test</artifactId>");
+		assertThat(pom).contains("<scope>runtime</scope>", "<optional>true</optional>", "<scope>test</scope>");
+	}
+
+	@Test
+	void mavenCentralIsNotWritten() {
+		MavenBuild build = new MavenBuild();
+		build.settings().coordinates("com.example.demo", "demo");
+		build.repositories().add("maven-central", MavenRepository.MAVEN_CENTRAL);
+		assertThat(write(build)).doesNotContain("<repositories>");
+	}
+
+	@Test
+	void sharedPluginIsWrittenLikeRegularPlugin() {
+		MavenBuild build = new MavenBuild();
+		build.settings().coordinates("com.example.demo", "demo");
+		build.plugins().add("com.example", "demo-plugin", this::customizePlugin);
+		String expected = write(build);
+		MavenBuild sharedBuild = new MavenBuild();
+		sharedBuild.settings().coordinates("com.example.demo", "demo");
+		MavenPlugin.Builder plugin = MavenPlugin.builder("com.example", "demo-plugin").shared();
+		customizePlugin(plugin);
+		sharedBuild.plugins().add(plugin.build());
+		assertThat(write(sharedBuild)).isEqualTo(expected);
+		assertThat(write(sharedBuild)).isEqualTo(expected);
+	}
+
+	@Test
+	void profileIsWrittenWithIndentationOfTarget() {
+		MavenBuild profileBuild = new MavenBuild();
+		profileBuild.plugins().add(MavenPlugin.builder("com.example", "demo-plugin").version("1.0.0").build());
+		MavenProfile profile = new MavenProfile.Builder().id("demo")
+				.activation((activation) -> activation.activeByDefault(false)).mavenBuild(profileBuild).shared()
+				.build();
+		MavenBuild build = new MavenBuild();
+		build.settings().coordinates("com.example.demo", "demo");
+		build.buildProfiles().add(profile);
+		StringWriter out = new StringWriter();
+		new MavenBuildWriter().writeTo(new IndentingWriter(out, new SimpleIndentStrategy("\t")), build);
+		String pom = out.toString();
+		assertThat(pom).contains("\t<profiles>\n\t\t<profile>\n\t\t\t<id>demo</id>\n");
+		assertThat(pom).contains("</activation>\n\n\t\t\t<build>\n");
+		assertThat(pom).contains("\n\t\t\t\t\t\t<version>1.0.0</version>\n");
+		assertThat(pom).doesNotContain("\0");
+		assertThat(write(build)).contains("\n            <build>\n");
+	}
+
+	@Test
+	void profileThatIsNotSharedIsRenderedForEachBuild() {
+		MavenBuild profileBuild = new MavenBuild();
+		profileBuild.plugins().add("com.example", "demo-plugin", (plugin) -> plugin.version("1.0.0"));
+		MavenProfile profile = new MavenProfile.Builder().id("demo").mavenBuild(profileBuild).build();
+		MavenBuild build = new MavenBuild();
+		build.settings().coordinates("com.example.demo", "demo");
+		build.buildProfiles().add(profile);
+		assertThat(write(build)).contains("<version>1.0.0</version>");
+		profileBuild.plugins().add("com.example", "demo-plugin", (plugin) -> plugin.version("2.0.0"));
+		assertThat(write(build)).contains("<version>2.0.0</version>").doesNotContain("<version>1.0.0</version>");
+	}
+
+	@Test
+	void pluginIsOnlySharedWhenDeclared() {
+		assertThat(MavenPlugin.builder("com.example", "demo-plugin").build().isShared()).isFalse();
+		MavenPlugin shared = MavenPlugin.builder("com.example", "demo-plugin").shared().build();
+		assertThat(shared.isShared()).isTrue();
+		MavenBuild build = new MavenBuild();
+		build.plugins().add(shared);
+		build.plugins().add("com.example", "demo-plugin", (plugin) -> plugin.version("1.0.0"));
+		assertThat(build.plugins().values().findFirst()).hasValueSatisfying(
+				(plugin) -> assertThat(plugin.isShared()).isFalse());
+	}
+
+	private void customizePlugin(MavenPlugin.Builder plugin) {
+		plugin.version("1.0.0").execution("run", (execution) -> execution.phase("verify").goal("run"))
+				.configuration((config) -> config.add("skip", "false").configure("excludes",
+						(excludes) -> excludes.add("exclude", "**/*IT")));
+	}
+
+	private String write(MavenBuild build) {
+		StringWriter out = new StringWriter();
+		new MavenBuildWriter().writeTo(new IndentingWriter(out), build);
+		return out.toString();
+	}
+
+}
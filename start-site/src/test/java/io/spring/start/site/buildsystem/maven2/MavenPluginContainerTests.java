@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.buildsystem.maven2;
+
+import java.util.List;
+
+import io.spring.start.site.buildsystem.maven2.MavenPlugin.Setting;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MavenPluginContainer}.
+ */
+class MavenPluginContainerTests {
+
+	private final MavenPlugin plugin = MavenPlugin.builder("com.example", "demo-plugin").version("1.0.0")
+			.execution("run", (execution) -> execution.phase("verify").goal("run"))
+			.configuration((config) -> config.configure("excludes", (excludes) -> excludes.add("exclude", "**/*IT")))
+			.build();
+
+	@Test
+	void prebuiltPluginIsShared() {
+		MavenPluginContainer container = new MavenPluginContainer();
+		container.add(this.plugin);
+		assertThat(container.values()).containsExactly(this.plugin);
+	}
+
+	@Test
+	void prebuiltPluginIsCopiedWhenCustomized() {
+		MavenPluginContainer container = new MavenPluginContainer();
+		container.add(this.plugin);
+		container.add("com.example", "demo-plugin", (builder) -> builder.execution("run", (run) -> run.goal("clean")));
+		MavenPlugin customized = container.values().findFirst().get();
+		assertThat(customized).isNotSameAs(this.plugin);
+		assertThat(customized.getVersion()).isEqualTo("1.0.0");
+		assertThat(customized.getExecutions()).hasSize(1);
+		assertThat(customized.getExecutions().get(0).getPhase()).isEqualTo("verify");
+		assertThat(customized.getExecutions().get(0).getGoals()).containsExactly("run", "clean");
+		assertThat(this.plugin.getExecutions().get(0).getGoals()).containsExactly("run");
+		assertExcludes(customized, "**/*IT");
+	}
+
+	@Test
+	void prebuiltPluginIsAppliedToExistingPlugin() {
+		MavenPluginContainer container = new MavenPluginContainer();
+		container.add("com.example", "demo-plugin", (builder) -> builder.version("0.1.0").extensions(true));
+		container.add(this.plugin);
+		MavenPlugin merged = container.values().findFirst().get();
+		assertThat(merged.getVersion()).isEqualTo("1.0.0");
+		assertThat(merged.isExtensions()).isTrue();
+		assertExcludes(merged, "**/*IT");
+	}
+
+	@SuppressWarnings("unchecked")
+	private void assertExcludes(MavenPlugin plugin, String exclude) {
+		Setting excludes = plugin.getConfiguration().getSettings().get(0);
+		assertThat(excludes.getName()).isEqualTo("excludes");
+		List<Setting> values = (List<Setting>) excludes.getValue();
+		assertThat(values).hasSize(1);
+		assertThat(values.get(0).getName()).isEqualTo("exclude");
+		assertThat(values.get(0).getValue()).isEqualTo(exclude);
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.build.maven;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import io.spring.initializr.generator.io.IndentingWriterFactory;
+import io.spring.start.site.buildsystem.maven2.MavenBuild;
+import io.spring.start.site.generation.InMemoryProjectTree;
+import io.spring.start.site.generation.ProjectOutputHolder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MavenBuildProjectContributor}.
+ */
+class MavenBuildProjectContributorTests {
+
+	@Test
+	void pomIsWrittenAsUtf8() throws Exception {
+		MavenBuild build = new MavenBuild();
+		build.settings().coordinates("com.example", "demo").name("Démo").description("Démo pour Spring Boot");
+		MavenBuildProjectContributor contributor = new MavenBuildProjectContributor(build,
+				IndentingWriterFactory.withDefaultSettings());
+		StringWriter expected = new StringWriter();
+		contributor.writeBuild(expected);
+		InMemoryProjectTree tree = new InMemoryProjectTree();
+		Path projectRoot = Paths.get("demo");
+		ProjectOutputHolder.invoke(tree, () -> {
+			contributor.contribute(projectRoot);
+			return null;
+		});
+		byte[] content = tree.getFiles().get(projectRoot.resolve("pom.xml")).getContent();
+		assertThat(new String(content, StandardCharsets.UTF_8)).isEqualTo(expected.toString())
+				.contains("<name>Démo</name>");
+	}
+
+}
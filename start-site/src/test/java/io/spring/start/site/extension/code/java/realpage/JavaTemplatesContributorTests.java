@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.code.java.realpage;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.spring.initializr.generator.buildsystem.BuildSystem;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.io.template.TemplateRenderer;
+import io.spring.initializr.generator.language.Language;
+import io.spring.initializr.generator.language.java.JavaLanguage;
+import io.spring.initializr.generator.packaging.Packaging;
+import io.spring.initializr.generator.packaging.jar.JarPackaging;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.start.site.generation.InMemoryProjectTree;
+import io.spring.start.site.generation.ProjectOutputHolder;
+import io.spring.start.site.generation.StaticResources;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link JavaTemplatesContributor}.
+ */
+class JavaTemplatesContributorTests {
+
+	private static final Path PROJECT_ROOT = Paths.get("demo");
+
+	private final TemplateIndex templateIndex = TemplateIndex.of(Arrays.asList(
+			"starter2/src/main/java/api/dao/CompanyDao.java", "starter2/src/main/java/api/dao/impl/CompanyDaoImpl.java",
+			"starter2/src/main/java/api/service/CompanyService.java",
+			"starter2/src/test/java/service/impl/CompanyServiceImplTest.java"));
+
+	private final StaticResources staticResources = new StaticResources(new PathMatchingResourcePatternResolver());
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	@AfterEach
+	void shutdownExecutor() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	void parallelRenderingWritesSameProjectAsSequentialRendering() throws Exception {
+		Map<String, String> expected = contribute(templateName(), null);
+		assertThat(expected).containsKeys("demo/README.md",
+				"demo/src/main/java/com/example/demo/api/dao/CompanyDao.java",
+				"demo/src/test/java/com/example/demo/service/impl/CompanyServiceImplTest.java");
+		assertThat(contribute(templateName(), this.executor)).isEqualTo(expected);
+	}
+
+	@Test
+	void directoriesAreCreatedOnCallingThread() throws Exception {
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+		InMemoryProjectTree tree = new InMemoryProjectTree() {
+
+			@Override
+			public void createDirectories(Path directory) {
+				threads.add(Thread.currentThread().getName());
+			}
+
+		};
+		ProjectOutputHolder.invoke(tree, () -> {
+			createContributor(templateName(), this.executor).contribute(PROJECT_ROOT);
+			return null;
+		});
+		assertThat(threads).containsExactly(Thread.currentThread().getName());
+	}
+
+	@Test
+	void rejectedWritesAreRunOnCallingThread() throws Exception {
+		Map<String, String> expected = contribute(templateName(), null);
+		AtomicInteger submissions = new AtomicInteger();
+		assertThat(contribute(templateName(), (task) -> {
+			if (submissions.incrementAndGet() % 2 == 0) {
+				throw new RejectedExecutionException("test");
+			}
+			this.executor.execute(task);
+		})).isEqualTo(expected);
+		assertThat(submissions.get()).isGreaterThan(1);
+	}
+
+	@Test
+	void renderingFailureIsPropagated() {
+		TemplateRenderer templateRenderer = (name, model) -> {
+			if (name.endsWith("CompanyDaoImpl.java")) {
+				throw new IllegalArgumentException("test");
+			}
+			return name;
+		};
+		assertThatIllegalStateException().isThrownBy(() -> contribute(templateRenderer, this.executor))
+				.withMessageContaining("CompanyDaoImpl.java").withRootCauseInstanceOf(IllegalArgumentException.class);
+	}
+
+	private TemplateRenderer templateName() {
+		return (name, model) -> name + ":" + model.get("packageName");
+	}
+
+	private Map<String, String> contribute(TemplateRenderer templateRenderer, Executor executor) throws Exception {
+		InMemoryProjectTree tree = new InMemoryProjectTree();
+		ProjectOutputHolder.invoke(tree, () -> {
+			createContributor(templateRenderer, executor).contribute(PROJECT_ROOT);
+			return null;
+		});
+		Map<String, String> files = new TreeMap<>();
+		tree.getFiles().forEach((path, file) -> files.put(path.toString().replace('\\', '/'),
+				new String(file.getContent(), StandardCharsets.ISO_8859_1) + (file.isExecutable() ? "+x" : "")));
+		return files;
+	}
+
+	private JavaTemplatesContributor createContributor(TemplateRenderer templateRenderer, Executor executor) {
+		MutableProjectDescription description = new MutableProjectDescription();
+		description.setBuildSystem(BuildSystem.forId(MavenBuildSystem.ID));
+		description.setLanguage(Language.forId(JavaLanguage.ID, "1.8"));
+		description.setPackaging(Packaging.forId(JarPackaging.ID));
+		description.setName("demo");
+		description.setVersion("0.0.1-SNAPSHOT");
+		description.setPackageName("com.example.demo");
+		description.setApplicationName("DemoApplication");
+		return new JavaTemplatesContributor(templateRenderer, description, this.templateIndex, this.staticResources,
+				executor);
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.code.java.realpage;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResourcesScanner}.
+ */
+class ResourcesScannerTests {
+
+	private final ResourcesScanner scanner = new ResourcesScanner(new PathMatchingResourcePatternResolver());
+
+	@Test
+	void templateNamesAreRelativeToTemplatesLocation() {
+		assertThat(this.scanner.templateNames()).contains("common/Dockerfile",
+				"spring-cloud-netflix-maintenance-mode");
+	}
+
+	@Test
+	void templateNamesWithPrefix() {
+		assertThat(this.scanner.templateNames("common")).isNotEmpty().allMatch((name) -> name.startsWith("common/"));
+	}
+
+	@Test
+	void resourceUrlsAreFiltered() {
+		assertThat(this.scanner.getResourceURLs((url) -> url.getPath().endsWith("Dockerfile.mustache"))).hasSize(1);
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.code.java.realpage;
+
+import java.util.Arrays;
+
+import io.spring.start.site.extension.code.java.realpage.TemplateIndex.TemplateEntry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for {@link TemplateIndex}.
+ */
+class TemplateIndexTests {
+
+	private final TemplateIndex index = TemplateIndex.of(Arrays.asList("starter2/src/main/java/api/dao/CompanyDao.java",
+			"starter2/src/main/java/api/dao/impl/CompanyDaoImpl.java",
+			"starter2/src/main/java/configuration/ApplicationConfig.java",
+			"starter2/src/test/java/service/impl/CompanyServiceImplTest.java", "common/Dockerfile"));
+
+	@Test
+	void templatesAreIndexedByPrefix() {
+		assertThat(this.index.getTemplates("starter2/src/main/java/api")).extracting(TemplateEntry::getTemplateName)
+				.containsExactly("starter2/src/main/java/api/dao/CompanyDao.java",
+						"starter2/src/main/java/api/dao/impl/CompanyDaoImpl.java");
+	}
+
+	@Test
+	void templateEntryIsResolvedRelativeToPrefix() {
+		assertThat(this.index.getTemplates("starter2/src/main/java/api")).extracting(TemplateEntry::getPackageSuffix,
+				TemplateEntry::getClassName)
+				.containsExactly(tuple(".dao", "CompanyDao"), tuple(".dao.impl", "CompanyDaoImpl"));
+	}
+
+	@Test
+	void templateEntryAtRootOfPrefixHasEmptyPackageSuffix() {
+		assertThat(this.index.getTemplates("starter2/src/main/java/configuration"))
+				.extracting(TemplateEntry::getPackageSuffix, TemplateEntry::getClassName)
+				.containsExactly(tuple("", "ApplicationConfig"));
+	}
+
+	@Test
+	void unknownPrefixHasNoTemplate() {
+		assertThat(this.index.getTemplates("starter/src/main/java/api")).isEmpty();
+	}
+
+	@Test
+	void templateNamesAreSorted() {
+		assertThat(this.index.getTemplateNames()).hasSize(5).startsWith("common/Dockerfile");
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.extension.code.java.realpage;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link TemplateRenderingExecutor}.
+ */
+class TemplateRenderingExecutorTests {
+
+	private final TemplateRenderingExecutor executor = new TemplateRenderingExecutor(1, 1);
+
+	@AfterEach
+	void destroy() {
+		this.executor.destroy();
+	}
+
+	@Test
+	void templateBeyondQueueCapacityIsRejected() {
+		CountDownLatch latch = new CountDownLatch(1);
+		Runnable task = () -> {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		try {
+			this.executor.getExecutor().execute(task);
+			this.executor.getExecutor().execute(task);
+			assertThatExceptionOfType(RejectedExecutionException.class)
+					.isThrownBy(() -> this.executor.getExecutor().execute(task));
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
+}
@@ -77,7 +77,7 @@ class SpringCloudFunctionHelpDocumentCustomizerTests extends AbstractExtensionTe
 		request.setType("maven-build");
 		request.setDependencies(Arrays.asList("cloud-function", "cloud-aws"));
 		assertThat(generateProject(request)).textFile("HELP.md").doesNotContain(AWS_SECTION_TITLE)
-				.doesNotContain(AZURE_SECTION_TITLE);
+				.doesNotContain(AZURE_SECTION_TITLE).doesNotContain("# Next Steps");
 	}
 
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.metadata.InitializrMetadataProvider;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectGenerationInvoker;
+import io.spring.initializr.web.project.ProjectRequest;
+import io.spring.initializr.web.project.WebProjectRequest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link MemoizingProjectGenerationInvoker} that check that a
+ * project generated from a memoized context is identical to a project generated from
+ * scratch.
+ */
+@SpringBootTest
+class MemoizingProjectGenerationInvokerIntegrationTests {
+
+	private final ApplicationContext applicationContext;
+
+	private final DefaultProjectRequestToDescriptionConverter converter;
+
+	private final ProjectGenerationInvoker<ProjectRequest> invoker;
+
+	private final InitializrMetadata metadata;
+
+	MemoizingProjectGenerationInvokerIntegrationTests(@Autowired ApplicationContext applicationContext,
+			@Autowired InitializrMetadataProvider metadataProvider) {
+		this.applicationContext = applicationContext;
+		this.converter = new DefaultProjectRequestToDescriptionConverter();
+		this.invoker = new ProjectGenerationInvoker<>(applicationContext, this.converter);
+		this.metadata = metadataProvider.get();
+	}
+
+	static Stream<Arguments> parameters() {
+		return Stream.of(Arguments.of("jar", "1.8", new String[] { "web", "data-jpa", "security" }),
+				Arguments.of("jar", "11", new String[] { "webflux" }),
+				Arguments.of("war", "1.8", new String[] { "web", "flyway", "session" }),
+				Arguments.of("docker", "11", new String[] { "liquibase", "cloud-function", "cloud-aws" }),
+				Arguments.of("docker", "1.8", new String[0]));
+	}
+
+	@ParameterizedTest(name = "{0} {1} {2}")
+	@MethodSource("parameters")
+	void memoizedContextGeneratesIdenticalProject(String packaging, String javaVersion, String[] dependencies)
+			throws IOException {
+		MemoizingProjectGenerationInvoker memoizingInvoker = createMemoizingInvoker();
+		Map<String, String> expected = generate(this.invoker, request(packaging, javaVersion, dependencies));
+		Map<String, String> recorded = generate(memoizingInvoker, request(packaging, javaVersion, dependencies));
+		assertThat(memoizingInvoker.getMemoizedSignatures()).isEqualTo(1);
+		Map<String, String> replayed = generate(memoizingInvoker, request(packaging, javaVersion, dependencies));
+		assertThat(memoizingInvoker.getMemoizedSignatures()).isEqualTo(1);
+		assertThat(recorded).isEqualTo(expected);
+		assertThat(replayed).isEqualTo(expected);
+	}
+
+	@ParameterizedTest(name = "{0} {1} {2}")
+	@MethodSource("parameters")
+	void memoizedContextGeneratesIdenticalBuild(String packaging, String javaVersion, String[] dependencies) {
+		MemoizingProjectGenerationInvoker memoizingInvoker = createMemoizingInvoker();
+		ProjectRequest request = request(packaging, javaVersion, dependencies);
+		String expected = new String(this.invoker.invokeBuildGeneration(request), StandardCharsets.UTF_8);
+		memoizingInvoker.invokeBuildGeneration(request(packaging, javaVersion, dependencies));
+		String replayed = new String(memoizingInvoker.invokeBuildGeneration(request), StandardCharsets.UTF_8);
+		assertThat(memoizingInvoker.getMemoizedSignatures()).isEqualTo(1);
+		assertThat(replayed).isEqualTo(expected);
+	}
+
+	private MemoizingProjectGenerationInvoker createMemoizingInvoker() {
+		return new MemoizingProjectGenerationInvoker(this.applicationContext, this.converter, true, 16, false);
+	}
+
+	private Map<String, String> generate(ProjectGenerationInvoker<ProjectRequest> invoker, ProjectRequest request)
+			throws IOException {
+		Path rootDirectory = invoker.invokeProjectStructureGeneration(request).getRootDirectory();
+		try {
+			Map<String, String> files = new TreeMap<>();
+			try (Stream<Path> paths = Files.walk(rootDirectory)) {
+				for (Path path : (Iterable<Path>) paths::iterator) {
+					String name = ProjectArchiver.entryName(rootDirectory, path);
+					files.put(name, Files.isDirectory(path) ? "<directory>"
+							: new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+				}
+			}
+			return files;
+		}
+		finally {
+			invoker.cleanTempFiles(rootDirectory);
+		}
+	}
+
+	private ProjectRequest request(String packaging, String javaVersion, String... dependencies) {
+		WebProjectRequest request = new WebProjectRequest();
+		request.initialize(this.metadata);
+		request.setPackaging(packaging);
+		request.setJavaVersion(javaVersion);
+		request.setDependencies(Arrays.asList(dependencies));
+		return request;
+	}
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.Writer;
+import java.nio.file.Path;
+
+import io.spring.initializr.generator.buildsystem.BuildSystem;
+import io.spring.initializr.generator.buildsystem.BuildWriter;
+import io.spring.initializr.generator.buildsystem.Dependency;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuildSystem;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.language.Language;
+import io.spring.initializr.generator.language.java.JavaLanguage;
+import io.spring.initializr.generator.packaging.Packaging;
+import io.spring.initializr.generator.packaging.jar.JarPackaging;
+import io.spring.initializr.generator.project.MutableProjectDescription;
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.initializr.generator.spring.documentation.HelpDocument;
+import io.spring.initializr.generator.spring.documentation.HelpDocumentCustomizer;
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.web.project.ProjectRequest;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MemoizingProjectGenerationInvoker}.
+ */
+class MemoizingProjectGenerationInvokerTests {
+
+	@Test
+	void signatureIgnoresDependenciesOrder() {
+		assertThat(MemoizingProjectGenerationInvoker.signature(description("web", "data-jpa")))
+				.isEqualTo(MemoizingProjectGenerationInvoker.signature(description("data-jpa", "web")));
+	}
+
+	@Test
+	void signatureIgnoresProjectCoordinates() {
+		MutableProjectDescription description = description("web");
+		description.setGroupId("com.acme");
+		description.setArtifactId("another");
+		assertThat(MemoizingProjectGenerationInvoker.signature(description))
+				.isEqualTo(MemoizingProjectGenerationInvoker.signature(description("web")));
+	}
+
+	@Test
+	void signatureDependsOnPlatformVersion() {
+		MutableProjectDescription description = description("web");
+		description.setPlatformVersion(Version.parse("2.1.13.RELEASE"));
+		assertThat(MemoizingProjectGenerationInvoker.signature(description))
+				.isNotEqualTo(MemoizingProjectGenerationInvoker.signature(description("web")));
+	}
+
+	@Test
+	void signatureDependsOnResolvedJvmVersion() {
+		MutableProjectDescription description = description("web");
+		description.setLanguage(Language.forId(JavaLanguage.ID, "11"));
+		assertThat(MemoizingProjectGenerationInvoker.signature(description))
+				.isNotEqualTo(MemoizingProjectGenerationInvoker.signature(description("web")));
+	}
+
+	@Test
+	void signatureDependsOnBuildSystemDialect() {
+		MutableProjectDescription description = description("web");
+		description.setBuildSystem(BuildSystem.forIdAndDialect(GradleBuildSystem.ID, GradleBuildSystem.DIALECT_KOTLIN));
+		MutableProjectDescription anotherDescription = description("web");
+		anotherDescription.setBuildSystem(
+				BuildSystem.forIdAndDialect(GradleBuildSystem.ID, GradleBuildSystem.DIALECT_GROOVY));
+		assertThat(MemoizingProjectGenerationInvoker.signature(description))
+				.isNotEqualTo(MemoizingProjectGenerationInvoker.signature(anotherDescription));
+	}
+
+	@Test
+	void incompleteDescriptionHasNoSignature() {
+		MutableProjectDescription description = description("web");
+		description.setPlatformVersion(null);
+		assertThat(MemoizingProjectGenerationInvoker.signature(description)).isNull();
+	}
+
+	@Test
+	void removeNonBuildBeansKeepsBuildWriters() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("contributor", new RootBeanDefinition(TestContributor.class));
+		beanFactory.registerBeanDefinition("buildContributor", new RootBeanDefinition(TestBuildContributor.class));
+		beanFactory.registerBeanDefinition("helpDocument", new RootBeanDefinition(HelpDocument.class));
+		beanFactory.registerBeanDefinition("helpDocumentCustomizer",
+				new RootBeanDefinition(TestHelpDocumentCustomizer.class));
+		beanFactory.registerBeanDefinition("request", new RootBeanDefinition(ProjectRequest.class));
+		MemoizingProjectGenerationInvoker.removeNonBuildBeans(beanFactory);
+		assertThat(beanFactory.getBeanDefinitionNames()).containsOnly("buildContributor", "request");
+	}
+
+	private MutableProjectDescription description(String... dependencies) {
+		MutableProjectDescription description = new MutableProjectDescription();
+		description.setBuildSystem(BuildSystem.forId(MavenBuildSystem.ID));
+		description.setLanguage(Language.forId(JavaLanguage.ID, "1.8"));
+		description.setPlatformVersion(Version.parse("2.2.6.RELEASE"));
+		description.setPackaging(Packaging.forId(JarPackaging.ID));
+		for (String dependency : dependencies) {
+			description.addDependency(dependency, Dependency.withCoordinates("com.example", dependency).build());
+		}
+		return description;
+	}
+
+	static class TestContributor implements ProjectContributor {
+
+		@Override
+		public void contribute(Path projectRoot) {
+		}
+
+	}
+
+	static class TestBuildContributor extends TestContributor implements BuildWriter {
+
+		@Override
+		public void writeBuild(Writer out) {
+		}
+
+	}
+
+	static class TestHelpDocumentCustomizer implements HelpDocumentCustomizer {
+
+		@Override
+		public void customize(HelpDocument document) {
+		}
+
+	}
+
+}
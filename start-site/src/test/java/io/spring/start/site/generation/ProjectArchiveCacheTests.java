@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import io.spring.start.site.generation.ProjectArchiveCache.PendingArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectArchiveCache}.
+ */
+class ProjectArchiveCacheTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void getUnknownArchive() throws IOException {
+		assertThat(new ProjectArchiveCache(this.directory, 100, null).get("test")).isNull();
+	}
+
+	@Test
+	void putAndGetArchive() throws IOException {
+		ProjectArchiveCache cache = new ProjectArchiveCache(this.directory, 100, null);
+		cache.put("test", new byte[] { 1, 2, 3 });
+		assertThat(cache.get("test")).containsExactly(1, 2, 3);
+		assertThat(cache.size()).isEqualTo(3);
+	}
+
+	@Test
+	void leastRecentlyUsedArchiveIsEvicted() throws IOException {
+		ProjectArchiveCache cache = new ProjectArchiveCache(this.directory, 10, null);
+		cache.put("one", new byte[4]);
+		cache.put("two", new byte[4]);
+		cache.get("one");
+		cache.put("three", new byte[4]);
+		assertThat(cache.get("one")).isNotNull();
+		assertThat(cache.get("two")).isNull();
+		assertThat(cache.get("three")).isNotNull();
+		assertThat(cache.size()).isEqualTo(8);
+	}
+
+	@Test
+	void archiveLargerThanCacheIsNotStored() throws IOException {
+		ProjectArchiveCache cache = new ProjectArchiveCache(this.directory, 2, null);
+		cache.put("test", new byte[4]);
+		assertThat(cache.get("test")).isNull();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void expiredArchiveIsEvicted() throws IOException {
+		MutableClock clock = new MutableClock();
+		ProjectArchiveCache cache = new ProjectArchiveCache(this.directory, 100, Duration.ofMinutes(5), clock);
+		cache.put("test", new byte[4]);
+		clock.instant = clock.instant.plus(Duration.ofMinutes(4));
+		assertThat(cache.get("test")).isNotNull();
+		clock.instant = clock.instant.plus(Duration.ofMinutes(1));
+		assertThat(cache.get("test")).isNull();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void pendingArchiveIsDiscardedIfNotCommitted() throws IOException {
+		ProjectArchiveCache cache = new ProjectArchiveCache(this.directory, 100, null);
+		try (PendingArchive archive = cache.store("test")) {
+			archive.write(new byte[] { 1, 2, 3 });
+		}
+		assertThat(cache.get("test")).isNull();
+		assertThat(Files.list(this.directory)).isEmpty();
+	}
+
+	@Test
+	void archivesOfPreviousRunAreRemoved() throws IOException {
+		new ProjectArchiveCache(this.directory, 100, null).put("test", new byte[4]);
+		ProjectArchiveCache cache = new ProjectArchiveCache(this.directory, 100, null);
+		assertThat(cache.get("test")).isNull();
+		assertThat(Files.list(this.directory)).isEmpty();
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant instant = Instant.parse("2020-04-01T10:00:00Z");
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+	}
+
+}
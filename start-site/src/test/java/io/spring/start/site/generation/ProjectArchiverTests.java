@@ -0,0 +1,151 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectArchiver}.
+ */
+class ProjectArchiverTests {
+
+	private final ProjectArchiver archiver = new ProjectArchiver();
+
+	@Test
+	void zipContainsFilesOnDiskAndInMemory(@TempDir Path rootDirectory) throws IOException {
+		InMemoryProjectTree tree = createProject(rootDirectory);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.archiver.writeZip(rootDirectory, tree, out);
+		Map<String, Integer> entries = new LinkedHashMap<>();
+		try (ZipFile zip = new ZipFile(new SeekableInMemoryByteChannel(out.toByteArray()))) {
+			for (ZipArchiveEntry entry : Collections.list(zip.getEntriesInPhysicalOrder())) {
+				entries.put(entry.getName(), entry.getUnixMode() & 0777);
+			}
+		}
+		assertThat(entries).containsExactly(entry("demo/", 0755), entry("demo/HELP.md", 0644),
+				entry("demo/mvnw", 0755), entry("demo/pom.xml", 0644), entry("demo/src/", 0755),
+				entry("demo/src/main/", 0755), entry("demo/src/main/resources/", 0755),
+				entry("demo/src/main/resources/application.yml", 0644));
+	}
+
+	@Test
+	void tgzContainsFilesOnDiskAndInMemory(@TempDir Path rootDirectory) throws IOException {
+		InMemoryProjectTree tree = createProject(rootDirectory);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.archiver.writeTgz(rootDirectory, tree, out);
+		Map<String, Integer> entries = new LinkedHashMap<>();
+		try (TarArchiveInputStream tar = new TarArchiveInputStream(
+				new GzipCompressorInputStream(new ByteArrayInputStream(out.toByteArray())))) {
+			TarArchiveEntry entry;
+			while ((entry = tar.getNextTarEntry()) != null) {
+				entries.put(entry.getName(), entry.getMode() & 0777);
+			}
+		}
+		assertThat(entries).containsKeys("demo/HELP.md", "demo/pom.xml",
+				"demo/src/main/resources/application.yml");
+		assertThat(entries.get("demo/mvnw")).isEqualTo(0755);
+	}
+
+	@Test
+	void zipContainsStaticResource(@TempDir Path rootDirectory) throws IOException {
+		InMemoryProjectTree tree = new InMemoryProjectTree();
+		byte[] content = new String(new char[512]).replace('\0', 'a').getBytes(StandardCharsets.UTF_8);
+		tree.write(rootDirectory.resolve("demo/static.txt"), StaticResource.of(content), false);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.archiver.writeZip(rootDirectory, tree, out);
+		try (ZipFile zip = new ZipFile(new SeekableInMemoryByteChannel(out.toByteArray()))) {
+			ZipArchiveEntry entry = zip.getEntry("demo/static.txt");
+			assertThat(entry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+			assertThat(StreamUtils.copyToByteArray(zip.getInputStream(entry))).isEqualTo(content);
+		}
+	}
+
+	@Test
+	void filteredZipOnlyContainsMatchingFilesAndTheirDirectories(@TempDir Path rootDirectory) throws IOException {
+		InMemoryProjectTree tree = createProject(rootDirectory);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.archiver.writeZip(rootDirectory, tree, out, (name) -> name.endsWith(".yml"));
+		Map<String, Integer> entries = new LinkedHashMap<>();
+		try (ZipFile zip = new ZipFile(new SeekableInMemoryByteChannel(out.toByteArray()))) {
+			for (ZipArchiveEntry entry : Collections.list(zip.getEntriesInPhysicalOrder())) {
+				entries.put(entry.getName(), entry.getUnixMode() & 0777);
+			}
+		}
+		assertThat(entries).containsExactly(entry("demo/", 0755), entry("demo/src/", 0755),
+				entry("demo/src/main/", 0755), entry("demo/src/main/resources/", 0755),
+				entry("demo/src/main/resources/application.yml", 0644));
+	}
+
+	@Test
+	void readFilesReturnsFilesOnDiskAndInMemory(@TempDir Path rootDirectory) throws IOException {
+		InMemoryProjectTree tree = createProject(rootDirectory);
+		Map<String, byte[]> files = this.archiver.readFiles(rootDirectory, tree);
+		assertThat(files).containsOnlyKeys("demo/HELP.md", "demo/mvnw", "demo/pom.xml",
+				"demo/src/main/resources/application.yml");
+		assertThat(files.get("demo/HELP.md")).isEqualTo("help".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void archiveContentIsRecordedInStatistics(@TempDir Path rootDirectory) throws Exception {
+		InMemoryProjectTree tree = createProject(rootDirectory);
+		ProjectStatistics statistics = new ProjectStatistics();
+		ProjectStatistics.invoke(statistics, () -> {
+			this.archiver.writeZip(rootDirectory, tree, new ByteArrayOutputStream());
+			return null;
+		});
+		assertThat(statistics.getFiles()).isEqualTo(4);
+		assertThat(statistics.getUncompressedSize()).isEqualTo(23);
+	}
+
+	private InMemoryProjectTree createProject(Path rootDirectory) throws IOException {
+		Path projectDirectory = Files.createDirectories(rootDirectory.resolve("demo"));
+		Files.write(projectDirectory.resolve("HELP.md"), "help".getBytes(StandardCharsets.UTF_8));
+		InMemoryProjectTree tree = new InMemoryProjectTree();
+		tree.write(projectDirectory.resolve("pom.xml"), "<project/>".getBytes(StandardCharsets.UTF_8), false);
+		tree.write(projectDirectory.resolve("mvnw"), "#!/bin/sh".getBytes(StandardCharsets.UTF_8), true);
+		tree.write(projectDirectory.resolve("src/main/resources/application.yml"), new byte[0], false);
+		return tree;
+	}
+
+	private static Map.Entry<String, Integer> entry(String name, int mode) {
+		return new AbstractMap.SimpleEntry<>(name, mode);
+	}
+
+}
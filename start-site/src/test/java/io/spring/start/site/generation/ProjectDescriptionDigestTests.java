@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import io.spring.initializr.generator.project.ProjectDescriptionCustomizer;
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.web.project.DefaultProjectRequestToDescriptionConverter;
+import io.spring.initializr.web.project.ProjectRequest;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectDescriptionDigest}.
+ */
+class ProjectDescriptionDigestTests {
+
+	private final InitializrMetadata metadata = InitializrMetadataTestBuilder.withDefaults()
+			.addBootVersion("2.2.6.RELEASE", true).addBootVersion("2.3.0.BUILD-SNAPSHOT", false).build();
+
+	private final ProjectDescriptionDigest digest = new ProjectDescriptionDigest(() -> this.metadata,
+			new DefaultProjectRequestToDescriptionConverter(),
+			new StaticListableBeanFactory().getBeanProvider(ProjectDescriptionCustomizer.class));
+
+	@Test
+	void sameRequestHasSameDigest() {
+		assertThat(this.digest.digest(createRequest("demo", "Demo"), "zip"))
+				.isEqualTo(this.digest.digest(createRequest("demo", "Demo"), "zip"));
+	}
+
+	@Test
+	void valueCannotSpanSeveralFields() {
+		String digest = this.digest.digest(createRequest("demo", "Demo"), "zip");
+		assertThat(this.digest.digest(createRequest("demo\ndescription=Demo", null), "zip")).isNotEqualTo(digest);
+		assertThat(this.digest.digest(createRequest("demo\ndescription=4:Demo", null), "zip")).isNotEqualTo(digest);
+	}
+
+	@Test
+	void cacheKeyIsDigestOfRelease() {
+		ProjectRequest request = createRequest("demo", "Demo");
+		assertThat(this.digest.cacheKey(request, "zip")).isEqualTo(this.digest.digest(request, "zip"));
+	}
+
+	@Test
+	void cacheKeyIsNullForSnapshot() {
+		ProjectRequest request = createRequest("demo", "Demo");
+		request.setBootVersion("2.3.0.BUILD-SNAPSHOT");
+		assertThat(this.digest.cacheKey(request, "zip")).isNull();
+	}
+
+	private ProjectRequest createRequest(String name, String description) {
+		ProjectRequest request = new ProjectRequest();
+		request.setType("maven-project");
+		request.setLanguage("java");
+		request.setPackaging("jar");
+		request.setJavaVersion("1.8");
+		request.setBootVersion("2.2.6.RELEASE");
+		request.setGroupId("com.example");
+		request.setArtifactId("demo");
+		request.setName(name);
+		request.setDescription(description);
+		request.setPackageName("com.example.demo");
+		return request;
+	}
+
+}
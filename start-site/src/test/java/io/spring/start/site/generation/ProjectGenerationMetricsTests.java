@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.RequiredSearch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectGenerationMetrics}.
+ */
+class ProjectGenerationMetricsTests {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	private final ProjectGenerationMetrics metrics = new ProjectGenerationMetrics(this.registry);
+
+	@Test
+	void statisticsArePublishedWithProjectTags() throws Exception {
+		String result = this.metrics.measure("maven", "docker", () -> {
+			ProjectStatistics statistics = ProjectStatistics.current();
+			statistics.setTemplateSet("starter2");
+			statistics.recordTemplate("starter2/README.md", 100);
+			statistics.recordTemplate("starter2/README.md", 20);
+			statistics.recordContent(12, 4096);
+			statistics.recordArchiveSize(1024);
+			return "test";
+		});
+		assertThat(result).isEqualTo("test");
+		assertThat(summary("start.generation.template.size").tag("template", "starter2/README.md").summary()
+				.totalAmount()).isEqualTo(120);
+		assertThat(summary("start.generation.files").summary().totalAmount()).isEqualTo(12);
+		assertThat(summary("start.generation.uncompressed.size").summary().totalAmount()).isEqualTo(4096);
+		assertThat(summary("start.generation.archive.size").summary().totalAmount()).isEqualTo(1024);
+	}
+
+	@Test
+	void unknownStatisticsAreNotPublished() throws Exception {
+		this.metrics.measure("gradle", "jar", () -> null);
+		assertThat(this.registry.find("start.generation.files").summary()).isNull();
+		assertThat(this.registry.find("start.generation.archive.size").summary()).isNull();
+	}
+
+	@Test
+	void missingTagValueIsReplacedByNone() throws Exception {
+		this.metrics.measure(null, "jar", () -> {
+			ProjectStatistics.current().recordArchiveSize(10);
+			return null;
+		});
+		DistributionSummary summary = this.registry.get("start.generation.archive.size").tag("buildSystem", "none")
+				.tag("templateSet", "none").summary();
+		assertThat(summary.count()).isEqualTo(1);
+	}
+
+	@Test
+	void statisticsAreUnboundOnceGenerationCompletes() throws Exception {
+		this.metrics.measure("maven", "jar", () -> null);
+		assertThat(ProjectStatistics.current()).isNull();
+	}
+
+	private RequiredSearch summary(String name) {
+		return this.registry.get(name).tag("buildSystem", "maven").tag("packaging", "docker").tag("templateSet",
+				"starter2");
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ProjectOutputHolder}.
+ */
+class ProjectOutputHolderTests {
+
+	@Test
+	void projectOutputDefaultsToFileSystem() {
+		assertThat(ProjectOutputHolder.getProjectOutput()).isInstanceOf(FileSystemProjectOutput.class);
+	}
+
+	@Test
+	void projectOutputIsBoundDuringInvocation() throws Exception {
+		InMemoryProjectTree tree = new InMemoryProjectTree();
+		ProjectOutputHolder.invoke(tree, () -> {
+			ProjectOutputHolder.getProjectOutput().write(Paths.get("test.txt"), new byte[] { 1 }, false);
+			return null;
+		});
+		assertThat(tree.getFiles()).containsOnlyKeys(Paths.get("test.txt"));
+		assertThat(ProjectOutputHolder.getProjectOutput()).isInstanceOf(FileSystemProjectOutput.class);
+	}
+
+	@Test
+	void projectOutputIsUnboundWhenInvocationFails() {
+		assertThatIllegalStateException()
+				.isThrownBy(() -> ProjectOutputHolder.invoke(new InMemoryProjectTree(), () -> {
+					throw new IllegalStateException("test");
+				}));
+		assertThat(ProjectOutputHolder.getProjectOutput()).isInstanceOf(FileSystemProjectOutput.class);
+	}
+
+}
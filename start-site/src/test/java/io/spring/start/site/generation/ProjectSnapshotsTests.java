@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.spring.start.site.generation.ProjectSnapshots.ProjectDiff;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectSnapshots}.
+ */
+class ProjectSnapshotsTests {
+
+	private final ProjectSnapshots snapshots = new ProjectSnapshots(2);
+
+	@Test
+	void diffWithUnknownSnapshotContainsAllFiles() {
+		ProjectDiff diff = this.snapshots.diff("unknown", "one", files("pom.xml", "<project/>", "HELP.md", "help"));
+		assertThat(diff.getSnapshot()).isEqualTo("one");
+		assertThat(diff.isIncremental()).isFalse();
+		assertThat(diff.getChangedFiles()).containsExactly("HELP.md", "pom.xml");
+		assertThat(diff.getRemovedFiles()).isEmpty();
+	}
+
+	@Test
+	void diffWithPreviousSnapshotContainsChangedAndRemovedFiles() {
+		this.snapshots.diff(null, "one", files("pom.xml", "<project/>", "HELP.md", "help", "schema.sql", ""));
+		ProjectDiff diff = this.snapshots.diff("one", "two",
+				files("pom.xml", "<project></project>", "HELP.md", "help", "application.yml", ""));
+		assertThat(diff.isIncremental()).isTrue();
+		assertThat(diff.getChangedFiles()).containsExactly("application.yml", "pom.xml");
+		assertThat(diff.getRemovedFiles()).containsExactly("schema.sql");
+	}
+
+	@Test
+	void removedFilesBetweenSnapshots() {
+		this.snapshots.diff(null, "one", files("pom.xml", "<project/>", "schema.sql", "", "data.sql", ""));
+		this.snapshots.diff("one", "two", files("pom.xml", "<project/>", "application.yml", ""));
+		assertThat(this.snapshots.removedFiles("one", "two")).containsExactly("data.sql", "schema.sql");
+		assertThat(this.snapshots.removedFiles("two", "one")).containsExactly("application.yml");
+	}
+
+	@Test
+	void removedFilesWithUnknownSnapshotIsNull() {
+		this.snapshots.diff(null, "one", files("pom.xml", "<project/>"));
+		assertThat(this.snapshots.removedFiles("unknown", "one")).isNull();
+		assertThat(this.snapshots.removedFiles("one", "unknown")).isNull();
+	}
+
+	@Test
+	void leastRecentlyUsedSnapshotIsEvicted() {
+		this.snapshots.diff(null, "one", files("pom.xml", "1"));
+		this.snapshots.diff(null, "two", files("pom.xml", "2"));
+		this.snapshots.diff(null, "three", files("pom.xml", "3"));
+		assertThat(this.snapshots.size()).isEqualTo(2);
+		assertThat(this.snapshots.diff("one", "four", files("pom.xml", "1")).isIncremental()).isFalse();
+	}
+
+	private Map<String, byte[]> files(String... namesAndContents) {
+		Map<String, byte[]> files = new LinkedHashMap<>();
+		for (int i = 0; i < namesAndContents.length; i += 2) {
+			files.put(namesAndContents[i], namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+		}
+		return files;
+	}
+
+}
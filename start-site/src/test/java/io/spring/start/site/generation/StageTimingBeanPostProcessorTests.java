@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.initializr.generator.project.contributor.ProjectContributor;
+import io.spring.initializr.generator.spring.build.BuildCustomizer;
+import io.spring.start.site.buildsystem.maven2.MavenBuild;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.Ordered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link StageTimingBeanPostProcessor}.
+ */
+class StageTimingBeanPostProcessorTests {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	private final StageTimingBeanPostProcessor postProcessor = createPostProcessor(this.registry);
+
+	@Test
+	void buildCustomizerInvocationIsTimed() {
+		TestBuildCustomizer customizer = (TestBuildCustomizer) this.postProcessor
+				.postProcessAfterInitialization(new TestBuildCustomizer(), "testBuildCustomizer");
+		MavenBuild build = new MavenBuild();
+		customizer.customize(build);
+		assertThat(build.getSettings().getName()).isEqualTo("test");
+		assertThat(customizer.getOrder()).isEqualTo(42);
+		assertThat(timer("build-customizer", TestBuildCustomizer.class.getName(), "SUCCESS").count()).isEqualTo(1);
+	}
+
+	@Test
+	void lambdaIsTaggedWithBeanName() throws Exception {
+		ProjectContributor contributor = (ProjectContributor) this.postProcessor
+				.postProcessAfterInitialization((ProjectContributor) (directory) -> {
+				}, "testContributor");
+		contributor.contribute(null);
+		assertThat(timer("contributor", "testContributor", "SUCCESS").count()).isEqualTo(1);
+	}
+
+	@Test
+	void failedInvocationIsTimedWithErrorOutcome() {
+		BuildCustomizer<?> customizer = (BuildCustomizer<?>) this.postProcessor
+				.postProcessAfterInitialization((BuildCustomizer<MavenBuild>) (build) -> {
+					throw new IllegalStateException("test");
+				}, "failingCustomizer");
+		assertThatIllegalStateException().isThrownBy(() -> customizer.customize(null));
+		assertThat(timer("build-customizer", "failingCustomizer", "ERROR").count()).isEqualTo(1);
+		assertThat(timer("build-customizer", "failingCustomizer", "SUCCESS").count()).isEqualTo(0);
+	}
+
+	@Test
+	void unrelatedBeanIsNotProxied() {
+		Object bean = new Object();
+		assertThat(this.postProcessor.postProcessAfterInitialization(bean, "test")).isSameAs(bean);
+	}
+
+	@Test
+	void beanIsNotProxiedWithoutMeterRegistry() {
+		TestBuildCustomizer customizer = new TestBuildCustomizer();
+		assertThat(createPostProcessor(null).postProcessAfterInitialization(customizer, "test")).isSameAs(customizer);
+	}
+
+	private Timer timer(String stage, String component, String outcome) {
+		return this.registry.get(StageTimingBeanPostProcessor.METRIC_NAME).tag("stage", stage)
+				.tag("component", component).tag("outcome", outcome).timer();
+	}
+
+	private static StageTimingBeanPostProcessor createPostProcessor(MeterRegistry registry) {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		if (registry != null) {
+			beanFactory.addBean("meterRegistry", registry);
+		}
+		return new StageTimingBeanPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+	}
+
+	static class TestBuildCustomizer implements BuildCustomizer<MavenBuild>, Ordered {
+
+		@Override
+		public void customize(MavenBuild build) {
+			build.settings().name("test");
+		}
+
+		@Override
+		public int getOrder() {
+			return 42;
+		}
+
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StaticResource}.
+ */
+class StaticResourceTests {
+
+	@Test
+	void compressibleContentIsDeflated() throws Exception {
+		byte[] content = new String(new char[1000]).replace('\0', 'a').getBytes(StandardCharsets.UTF_8);
+		StaticResource resource = StaticResource.of(content);
+		assertThat(resource.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+		assertThat(resource.getCompressedContent().length).isLessThan(content.length);
+		assertThat(inflate(resource.getCompressedContent(), content.length)).isEqualTo(content);
+	}
+
+	@Test
+	void incompressibleContentIsStored() {
+		byte[] content = new byte[256];
+		new Random(42).nextBytes(content);
+		StaticResource resource = StaticResource.of(content);
+		assertThat(resource.getMethod()).isEqualTo(ZipEntry.STORED);
+		assertThat(resource.getCompressedContent()).isSameAs(content);
+	}
+
+	@Test
+	void crcAndSizeAreComputed() {
+		byte[] content = "test".getBytes(StandardCharsets.UTF_8);
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		StaticResource resource = StaticResource.of(content);
+		assertThat(resource.getCrc()).isEqualTo(crc.getValue());
+		assertThat(resource.getSize()).isEqualTo(4);
+	}
+
+	private byte[] inflate(byte[] compressed, int size) throws Exception {
+		Inflater inflater = new Inflater(true);
+		inflater.setInput(compressed);
+		byte[] result = new byte[size];
+		inflater.inflate(result);
+		inflater.end();
+		return result;
+	}
+
+}
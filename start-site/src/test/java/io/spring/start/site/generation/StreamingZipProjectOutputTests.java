@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.generation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StreamingZipProjectOutput}.
+ */
+class StreamingZipProjectOutputTests {
+
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+	private final AtomicInteger openCount = new AtomicInteger();
+
+	private final StreamingZipProjectOutput output = new StreamingZipProjectOutput(() -> {
+		this.openCount.incrementAndGet();
+		return this.out;
+	});
+
+	@Test
+	void streamIsOpenedOnFirstWrite(@TempDir Path rootDirectory) throws IOException {
+		this.output.initialize(rootDirectory);
+		assertThat(this.openCount).hasValue(0);
+		this.output.write(rootDirectory.resolve("demo/pom.xml"), bytes("<project/>"), false);
+		this.output.write(rootDirectory.resolve("demo/mvnw"), bytes("#!/bin/sh"), true);
+		assertThat(this.openCount).hasValue(1);
+		assertThat(this.out.size()).isGreaterThan(0);
+	}
+
+	@Test
+	void finishAddsFilesWrittenToDisk(@TempDir Path rootDirectory) throws IOException {
+		this.output.initialize(rootDirectory);
+		this.output.write(rootDirectory.resolve("demo/pom.xml"), bytes("<project/>"), false);
+		Path projectDirectory = Files.createDirectories(rootDirectory.resolve("demo"));
+		Files.write(projectDirectory.resolve("HELP.md"), bytes("help"));
+		this.output.finish();
+		assertThat(readEntries()).containsExactly("demo/", "demo/pom.xml", "demo/HELP.md");
+	}
+
+	private List<String> readEntries() throws IOException {
+		List<String> entries = new ArrayList<>();
+		try (ZipArchiveInputStream zip = new ZipArchiveInputStream(new ByteArrayInputStream(this.out.toByteArray()))) {
+			ZipArchiveEntry entry;
+			while ((entry = zip.getNextZipEntry()) != null) {
+				entries.add(entry.getName());
+			}
+		}
+		return entries;
+	}
+
+	private static byte[] bytes(String content) {
+		return content.getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.project;
+
+import io.spring.initializr.generator.version.Version;
+import io.spring.initializr.generator.version.VersionParser;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link PlatformVersionTable}.
+ */
+class PlatformVersionTableTests {
+
+	private final PlatformVersionTable table = PlatformVersionTable.of("2.0.0.M1", "2.1.0.M1", "2.2.6.RELEASE");
+
+	@Test
+	void versionLowerThanFirstThresholdIsInFirstBucket() {
+		assertThat(this.table.bucketOf(parse("1.5.22.RELEASE"))).isEqualTo(0);
+	}
+
+	@Test
+	void thresholdIsInclusive() {
+		assertThat(this.table.bucketOf(parse("2.0.0.M1"))).isEqualTo(1);
+		assertThat(this.table.bucketOf(parse("2.1.0.M1"))).isEqualTo(2);
+	}
+
+	@Test
+	void versionBetweenThresholds() {
+		assertThat(this.table.bucketOf(parse("2.1.9.RELEASE"))).isEqualTo(2);
+		assertThat(this.table.bucketOf(parse("2.2.5.RELEASE"))).isEqualTo(2);
+	}
+
+	@Test
+	void versionHigherThanLastThresholdIsInLastBucket() {
+		assertThat(this.table.bucketOf(parse("2.3.0.BUILD-SNAPSHOT"))).isEqualTo(3);
+	}
+
+	@Test
+	void thresholdsMustBeInAscendingOrder() {
+		assertThatIllegalArgumentException().isThrownBy(() -> PlatformVersionTable.of("2.1.0.M1", "2.0.0.M1"));
+	}
+
+	private static Version parse(String version) {
+		return VersionParser.DEFAULT.parse(version);
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.spring.initializr.versionresolver.DependencyManagementVersionResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link CacheableDependencyManagementVersionResolver}.
+ */
+class CacheableDependencyManagementVersionResolverTests {
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void shutdownExecutor() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentResolutionsOfSameBomAreCoalesced() throws Exception {
+		BlockingResolver delegate = new BlockingResolver();
+		CacheableDependencyManagementVersionResolver resolver = new CacheableDependencyManagementVersionResolver(
+				delegate, Duration.ofSeconds(10));
+		CompletableFuture<Map<String, String>> first = CompletableFuture
+				.supplyAsync(() -> resolver.resolve("com.example", "bom", "1.0.0"), this.executor);
+		assertThat(delegate.started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<Map<String, String>> second = CompletableFuture
+				.supplyAsync(() -> resolver.resolve("com.example", "bom", "1.0.0"), this.executor);
+		Thread.sleep(200);
+		delegate.release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).containsEntry("com.example:bom", "1.0.0");
+		assertThat(second.get(5, TimeUnit.SECONDS)).containsEntry("com.example:bom", "1.0.0");
+		assertThat(delegate.count).hasValue(1);
+	}
+
+	@Test
+	void waitingForResolutionTimesOut() throws Exception {
+		BlockingResolver delegate = new BlockingResolver();
+		CacheableDependencyManagementVersionResolver resolver = new CacheableDependencyManagementVersionResolver(
+				delegate, Duration.ofMillis(50));
+		CompletableFuture<Map<String, String>> first = CompletableFuture
+				.supplyAsync(() -> resolver.resolve("com.example", "bom", "1.0.0"), this.executor);
+		assertThat(delegate.started.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolve("com.example", "bom", "1.0.0"))
+				.withMessageContaining("Timed out");
+		delegate.release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+	}
+
+	@Test
+	void failedResolutionIsAttemptedAgain() {
+		AtomicInteger count = new AtomicInteger();
+		CacheableDependencyManagementVersionResolver resolver = new CacheableDependencyManagementVersionResolver(
+				(groupId, artifactId, version) -> {
+					if (count.incrementAndGet() == 1) {
+						throw new IllegalStateException("test");
+					}
+					return Collections.singletonMap(groupId + ":" + artifactId, version);
+				});
+		assertThatIllegalStateException().isThrownBy(() -> resolver.resolve("com.example", "bom", "1.0.0"))
+				.withMessage("test");
+		assertThat(resolver.resolve("com.example", "bom", "1.0.0")).containsEntry("com.example:bom", "1.0.0");
+		assertThat(count).hasValue(2);
+	}
+
+	private static class BlockingResolver implements DependencyManagementVersionResolver {
+
+		private final CountDownLatch started = new CountDownLatch(1);
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Map<String, String> resolve(String groupId, String artifactId, String version) {
+			this.count.incrementAndGet();
+			this.started.countDown();
+			try {
+				this.release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return Collections.singletonMap(groupId + ":" + artifactId, version);
+		}
+
+	}
+
+}
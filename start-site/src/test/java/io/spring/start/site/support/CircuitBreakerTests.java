@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CircuitBreaker}.
+ */
+class CircuitBreakerTests {
+
+	private final MutableClock clock = new MutableClock();
+
+	private final CircuitBreaker circuitBreaker = new CircuitBreaker(2, Duration.ofMinutes(5), this.clock);
+
+	@Test
+	void circuitOpensOnceThresholdIsReached() {
+		this.circuitBreaker.recordFailure();
+		assertThat(this.circuitBreaker.allowRequest()).isTrue();
+		this.circuitBreaker.recordFailure();
+		assertThat(this.circuitBreaker.isOpen()).isTrue();
+		assertThat(this.circuitBreaker.allowRequest()).isFalse();
+	}
+
+	@Test
+	void singleProbeIsAllowedOnceOpenDurationHasElapsed() {
+		open();
+		this.clock.advance(Duration.ofMinutes(5));
+		assertThat(this.circuitBreaker.isOpen()).isFalse();
+		assertThat(this.circuitBreaker.allowRequest()).isTrue();
+		assertThat(this.circuitBreaker.allowRequest()).isFalse();
+		assertThat(this.circuitBreaker.isOpen()).isTrue();
+	}
+
+	@Test
+	void successfulProbeClosesCircuit() {
+		open();
+		this.clock.advance(Duration.ofMinutes(5));
+		assertThat(this.circuitBreaker.allowRequest()).isTrue();
+		this.circuitBreaker.recordSuccess();
+		assertThat(this.circuitBreaker.isOpen()).isFalse();
+		assertThat(this.circuitBreaker.allowRequest()).isTrue();
+		assertThat(this.circuitBreaker.allowRequest()).isTrue();
+	}
+
+	@Test
+	void failedProbeOpensCircuitAgain() {
+		open();
+		this.clock.advance(Duration.ofMinutes(5));
+		assertThat(this.circuitBreaker.allowRequest()).isTrue();
+		this.circuitBreaker.recordFailure();
+		assertThat(this.circuitBreaker.allowRequest()).isFalse();
+		this.clock.advance(Duration.ofMinutes(4));
+		assertThat(this.circuitBreaker.allowRequest()).isFalse();
+		this.clock.advance(Duration.ofMinutes(1));
+		assertThat(this.circuitBreaker.allowRequest()).isTrue();
+	}
+
+	private void open() {
+		this.circuitBreaker.recordFailure();
+		this.circuitBreaker.recordFailure();
+		assertThat(this.circuitBreaker.isOpen()).isTrue();
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant instant = Instant.parse("2020-04-01T10:00:00Z");
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+	}
+
+}
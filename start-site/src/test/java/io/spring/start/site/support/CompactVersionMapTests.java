@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link CompactVersionMap}.
+ */
+class CompactVersionMapTests {
+
+	@Test
+	void mapIsEqualToSourceMap() {
+		Map<String, String> source = createSource();
+		CompactVersionMap versions = CompactVersionMap.of(source);
+		assertThat(versions).isEqualTo(source).hasSize(3);
+		assertThat(versions.get("com.example:b")).isEqualTo("2.0.0");
+		assertThat(versions.containsKey("com.example:unknown")).isFalse();
+		assertThat(versions.get(42)).isNull();
+	}
+
+	@Test
+	void entriesAreSortedByCoordinates() {
+		assertThat(CompactVersionMap.of(createSource())).containsExactly(entry("com.example:a", "1.0.0"),
+				entry("com.example:b", "2.0.0"), entry("com.example:c", "1.0.0"));
+	}
+
+	@Test
+	void stringsAreShared() {
+		CompactVersionMap first = CompactVersionMap.of(createSource());
+		CompactVersionMap second = CompactVersionMap.of(createSource());
+		assertThat(first.get("com.example:a")).isSameAs(second.get("com.example:a"));
+		assertThat(first.get("com.example:a")).isSameAs(first.get("com.example:c"));
+	}
+
+	@Test
+	void mapIsImmutable() {
+		CompactVersionMap versions = CompactVersionMap.of(createSource());
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> versions.put("com.example:d", "1.0.0"));
+	}
+
+	@Test
+	void emptyMap() {
+		assertThat(CompactVersionMap.of(Collections.emptyMap())).isEmpty();
+	}
+
+	@Test
+	void mapCanBeSerialized() throws Exception {
+		CompactVersionMap versions = CompactVersionMap.of(createSource());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+			objectOut.writeObject(versions);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			CompactVersionMap copy = (CompactVersionMap) in.readObject();
+			assertThat(copy).isEqualTo(versions);
+			assertThat(copy.get("com.example:a")).isSameAs(versions.get("com.example:a"));
+		}
+	}
+
+	private Map<String, String> createSource() {
+		Map<String, String> source = new LinkedHashMap<>();
+		source.put(new String("com.example:c"), new String("1.0.0"));
+		source.put(new String("com.example:a"), new String("1.0.0"));
+		source.put(new String("com.example:b"), new String("2.0.0"));
+		return source;
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ConcurrencyLimitingExecutor}.
+ */
+class ConcurrencyLimitingExecutorTests {
+
+	private final ConcurrencyLimitingExecutor executor = new ConcurrencyLimitingExecutor(Thread::new, 1, 1);
+
+	@Test
+	void tasksBeyondConcurrencyWaitForTheirTurn() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch completed = new CountDownLatch(2);
+		AtomicInteger started = new AtomicInteger();
+		Runnable task = () -> {
+			started.incrementAndGet();
+			await(release);
+			completed.countDown();
+		};
+		this.executor.execute(task);
+		this.executor.execute(task);
+		Thread.sleep(100);
+		assertThat(started.get()).isEqualTo(1);
+		release.countDown();
+		assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(started.get()).isEqualTo(2);
+	}
+
+	@Test
+	void taskBeyondQueueCapacityIsRejected() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch completed = new CountDownLatch(2);
+		Runnable task = () -> {
+			await(release);
+			completed.countDown();
+		};
+		this.executor.execute(task);
+		this.executor.execute(task);
+		assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> this.executor.execute(task));
+		release.countDown();
+		assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.spring.initializr.versionresolver.DependencyManagementVersionResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ByteArrayResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentDependencyManagementVersionResolver}.
+ */
+class PersistentDependencyManagementVersionResolverTests {
+
+	private final CountingResolver delegate = new CountingResolver();
+
+	@Test
+	void resolvedVersionsAreIndexed(@TempDir Path directory) {
+		PersistentDependencyManagementVersionResolver resolver = new PersistentDependencyManagementVersionResolver(
+				this.delegate, directory.resolve("index.bin"), null);
+		assertThat(resolver.resolve("com.example", "bom", "1.0.0")).containsEntry("com.example:bom", "1.0.0");
+		assertThat(resolver.resolve("com.example", "bom", "1.0.0")).containsEntry("com.example:bom", "1.0.0");
+		assertThat(this.delegate.count).hasValue(1);
+	}
+
+	@Test
+	void snapshotVersionsAreResolvedAgain(@TempDir Path directory) {
+		Path indexFile = directory.resolve("index.bin");
+		PersistentDependencyManagementVersionResolver resolver = new PersistentDependencyManagementVersionResolver(
+				this.delegate, indexFile, null);
+		resolver.resolve("org.springframework.cloud", "spring-cloud-dependencies", "Hoxton.BUILD-SNAPSHOT");
+		resolver.resolve("org.springframework.cloud", "spring-cloud-dependencies", "Hoxton.BUILD-SNAPSHOT");
+		resolver.resolve("org.springframework.boot", "spring-boot-dependencies", "2.3.0.BUILD-SNAPSHOT");
+		assertThat(this.delegate.count).hasValue(3);
+		assertThat(resolver.size()).isEqualTo(0);
+		assertThat(indexFile).doesNotExist();
+	}
+
+	@Test
+	void snapshotVersionsOfExistingIndexAreIgnored(@TempDir Path directory) throws IOException {
+		Map<String, Map<String, String>> index = new LinkedHashMap<>();
+		index.put("com.example:bom:1.0.0", Collections.singletonMap("com.example:library", "1.0.0"));
+		index.put("com.example:bom:2.0.0.BUILD-SNAPSHOT",
+				Collections.singletonMap("com.example:library", "2.0.0.BUILD-SNAPSHOT"));
+		Path indexFile = directory.resolve("index.bin");
+		try (OutputStream out = Files.newOutputStream(indexFile)) {
+			PersistentDependencyManagementVersionResolver.write(index, out);
+		}
+		PersistentDependencyManagementVersionResolver resolver = new PersistentDependencyManagementVersionResolver(
+				this.delegate, indexFile, null);
+		assertThat(resolver.size()).isEqualTo(1);
+		resolver.resolve("com.example", "bom", "2.0.0.BUILD-SNAPSHOT");
+		assertThat(this.delegate.count).hasValue(1);
+	}
+
+	@Test
+	void indexSurvivesRestart(@TempDir Path directory) {
+		Path indexFile = directory.resolve("index.bin");
+		new PersistentDependencyManagementVersionResolver(this.delegate, indexFile, null).resolve("com.example",
+				"bom", "1.0.0");
+		PersistentDependencyManagementVersionResolver resolver = new PersistentDependencyManagementVersionResolver(
+				this.delegate, indexFile, null);
+		assertThat(resolver.size()).isEqualTo(1);
+		assertThat(resolver.resolve("com.example", "bom", "1.0.0")).containsEntry("com.example:bom", "1.0.0");
+		assertThat(this.delegate.count).hasValue(1);
+	}
+
+	@Test
+	void indexIsSeededFromSnapshot(@TempDir Path directory) throws IOException {
+		ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+		PersistentDependencyManagementVersionResolver.write(Collections.singletonMap("com.example:bom:2.0.0",
+				Collections.singletonMap("com.example:library", "2.0.1")), snapshot);
+		PersistentDependencyManagementVersionResolver resolver = new PersistentDependencyManagementVersionResolver(
+				this.delegate, directory.resolve("index.bin"), new ByteArrayResource(snapshot.toByteArray()));
+		assertThat(resolver.resolve("com.example", "bom", "2.0.0")).containsEntry("com.example:library", "2.0.1");
+		assertThat(this.delegate.count).hasValue(0);
+	}
+
+	@Test
+	void unreadableIndexIsIgnored(@TempDir Path directory) throws IOException {
+		Path indexFile = directory.resolve("index.bin");
+		Files.write(indexFile, new byte[] { 1, 2, 3 });
+		PersistentDependencyManagementVersionResolver resolver = new PersistentDependencyManagementVersionResolver(
+				this.delegate, indexFile, null);
+		assertThat(resolver.size()).isEqualTo(0);
+		resolver.resolve("com.example", "bom", "1.0.0");
+		assertThat(new PersistentDependencyManagementVersionResolver(this.delegate, indexFile, null).size())
+				.isEqualTo(1);
+	}
+
+	private static class CountingResolver implements DependencyManagementVersionResolver {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Map<String, String> resolve(String groupId, String artifactId, String version) {
+			this.count.incrementAndGet();
+			return Collections.singletonMap(groupId + ":" + artifactId, version);
+		}
+
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.samskivert.mustache.Mustache;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PrecompiledTemplateRenderer}.
+ */
+class PrecompiledTemplateRendererTests {
+
+	private final ConcurrentMapCache cache = new ConcurrentMapCache("test");
+
+	private final PrecompiledTemplateRenderer renderer = new PrecompiledTemplateRenderer("classpath:/templates",
+			this.cache);
+
+	@Test
+	void compileAddsTemplatesToCache() {
+		this.renderer.compile(Arrays.asList("common/Dockerfile", "common/run.sh"));
+		assertThat(this.cache.getNativeCache()).containsOnlyKeys("common/Dockerfile", "common/run.sh");
+	}
+
+	@Test
+	void renderUsesCompiledTemplate() {
+		this.cache.put("test", Mustache.compiler().compile("Hello {{name}}"));
+		assertThat(this.renderer.render("test", Collections.singletonMap("name", "World"))).isEqualTo("Hello World");
+	}
+
+	@Test
+	void renderCompilesTemplateOnce() {
+		this.renderer.compile(Collections.singletonList("common/Dockerfile"));
+		Object template = this.cache.get("common/Dockerfile").get();
+		this.renderer.compile(Collections.singletonList("common/Dockerfile"));
+		assertThat(this.cache.get("common/Dockerfile").get()).isSameAs(template);
+	}
+
+}
@@ -16,20 +16,28 @@
 
 package io.spring.start.site.support;
 
+import java.time.Duration;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.DefaultMetadataElement;
 import io.spring.initializr.metadata.InitializrMetadata;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 /**
  * Tests for {@link StartInitializrMetadataUpdateStrategy}.
@@ -40,6 +48,10 @@ class StartInitializrMetadataUpdateStrategyTests {
 
 	private static final ObjectMapper objectMapper = new ObjectMapper();
 
+	private static final String METADATA_URL = "https://example.com/spring-boot";
+
+	private static final Resource SPRING_BOOT_VERSIONS = new ClassPathResource("metadata/spring-boot-versions.json");
+
 	private RestTemplate restTemplate;
 
 	private MockRestServiceServer mockServer;
@@ -60,4 +72,61 @@ class StartInitializrMetadataUpdateStrategyTests {
 		this.mockServer.verify();
 	}
 
+	@Test
+	void backgroundRefreshServesLastKnownGoodVersions() {
+		this.mockServer.expect(requestTo(METADATA_URL))
+				.andRespond(withSuccess(SPRING_BOOT_VERSIONS, MediaType.APPLICATION_JSON));
+		this.mockServer.expect(requestTo(METADATA_URL)).andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+		StartInitializrMetadataUpdateStrategy strategy = createRefreshingStrategy(
+				new CircuitBreaker(3, Duration.ofMinutes(5)));
+		assertThat(strategy.refresh(METADATA_URL)).extracting(DefaultMetadataElement::getId)
+				.containsExactly("2.2.0.RELEASE");
+		assertThat(strategy.refresh(METADATA_URL)).extracting(DefaultMetadataElement::getId)
+				.containsExactly("2.2.0.RELEASE");
+		this.mockServer.verify();
+	}
+
+	@Test
+	void backgroundRefreshDoesNotFetchVersionsOnRequestPath() {
+		this.mockServer.expect(requestTo(METADATA_URL))
+				.andRespond(withSuccess(SPRING_BOOT_VERSIONS, MediaType.APPLICATION_JSON));
+		StartInitializrMetadataUpdateStrategy strategy = createRefreshingStrategy(null);
+		try {
+			assertThat(strategy.fetchSpringBootVersions(METADATA_URL)).hasSize(1);
+			assertThat(strategy.fetchSpringBootVersions(METADATA_URL)).hasSize(1);
+			this.mockServer.verify();
+		}
+		finally {
+			strategy.destroy();
+		}
+	}
+
+	@Test
+	void emptyMetadataUrlDoesNotFetchVersions() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("2.2.0.RELEASE", true)
+				.build();
+		metadata.getConfiguration().getEnv().setSpringBootMetadataUrl("");
+		InitializrMetadata updated = new StartInitializrMetadataUpdateStrategy(this.restTemplate, objectMapper)
+				.update(metadata);
+		assertThat(updated.getBootVersions().getContent()).extracting(DefaultMetadataElement::getId)
+				.containsExactly("2.2.0.RELEASE");
+		this.mockServer.verify();
+	}
+
+	@Test
+	void circuitBreakerStopsCallsAfterFailures() {
+		this.mockServer.expect(requestTo(METADATA_URL)).andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+		CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofMinutes(5));
+		StartInitializrMetadataUpdateStrategy strategy = createRefreshingStrategy(circuitBreaker);
+		assertThat(strategy.refresh(METADATA_URL)).isNull();
+		assertThat(circuitBreaker.isOpen()).isTrue();
+		assertThat(strategy.refresh(METADATA_URL)).isNull();
+		this.mockServer.verify();
+	}
+
+	private StartInitializrMetadataUpdateStrategy createRefreshingStrategy(CircuitBreaker circuitBreaker) {
+		return new StartInitializrMetadataUpdateStrategy(this.restTemplate, objectMapper, Duration.ofHours(1),
+				circuitBreaker);
+	}
+
 }
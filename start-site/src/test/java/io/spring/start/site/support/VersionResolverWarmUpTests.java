@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.support;
+
+import java.util.Collections;
+
+import io.spring.initializr.generator.test.InitializrMetadataTestBuilder;
+import io.spring.initializr.metadata.BillOfMaterials;
+import io.spring.initializr.metadata.InitializrMetadata;
+import io.spring.initializr.versionresolver.DependencyManagementVersionResolver;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.actuate.health.Status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link VersionResolverWarmUp}.
+ */
+class VersionResolverWarmUpTests {
+
+	private final DependencyManagementVersionResolver resolver = mock(DependencyManagementVersionResolver.class);
+
+	@Test
+	void warmUpResolvesBomsOfEachBootVersion() {
+		BillOfMaterials bom = BillOfMaterials.create("com.example", "custom-bom", "1.0.0");
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("2.2.0.RELEASE", true)
+				.addBootVersion("2.1.9.RELEASE", false).addBom("custom-bom", bom).build();
+		given(this.resolver.resolve(any(), any(), any())).willReturn(Collections.emptyMap());
+		VersionResolverWarmUp warmUp = new VersionResolverWarmUp(() -> metadata, this.resolver, 2);
+		warmUp.start().join();
+		verify(this.resolver).resolve("org.springframework.boot", "spring-boot-dependencies", "2.2.0.RELEASE");
+		verify(this.resolver).resolve("org.springframework.boot", "spring-boot-dependencies", "2.1.9.RELEASE");
+		verify(this.resolver, times(1)).resolve("com.example", "custom-bom", "1.0.0");
+		assertThat(warmUp.isComplete()).isTrue();
+		assertThat(warmUp.getTotal()).isEqualTo(3);
+		assertThat(warmUp.getResolved()).isEqualTo(3);
+	}
+
+	@Test
+	void warmUpCompletesWhenResolutionFails() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("2.2.0.RELEASE", true)
+				.build();
+		given(this.resolver.resolve(any(), any(), any())).willThrow(new IllegalStateException("test"));
+		VersionResolverWarmUp warmUp = new VersionResolverWarmUp(() -> metadata, this.resolver, 2);
+		warmUp.start().join();
+		assertThat(warmUp.isComplete()).isTrue();
+		assertThat(warmUp.getFailed()).isEqualTo(1);
+	}
+
+	@Test
+	void healthIsOutOfServiceUntilWarmUpCompletes() {
+		InitializrMetadata metadata = new InitializrMetadataTestBuilder().addBootVersion("2.2.0.RELEASE", true)
+				.build();
+		given(this.resolver.resolve(any(), any(), any())).willReturn(Collections.emptyMap());
+		VersionResolverWarmUp warmUp = new VersionResolverWarmUp(() -> metadata, this.resolver, 1);
+		VersionResolverWarmUpHealthIndicator healthIndicator = new VersionResolverWarmUpHealthIndicator(warmUp);
+		assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+		warmUp.start().join();
+		assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link ProjectGenerationExecutor} running in an embedded web
+ * server.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = { "start.generation.executor.enabled=true", "start.generation.executor.virtual-threads=false" })
+@AutoConfigureCache
+class ProjectGenerationExecutorIntegrationTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private ProjectGenerationExecutor executor;
+
+	@Test
+	void zipArchiveIsGeneratedOnExecutor() throws IOException {
+		long tasks = getTaskCount();
+		ResponseEntity<byte[]> response = this.restTemplate.getForEntity("/starter.zip?dependencies=web",
+				byte[].class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getContentType().toString()).isEqualTo("application/zip");
+		assertThat(zipEntries(response.getBody())).contains("demo/pom.xml", "demo/mvnw");
+		assertThat(getTaskCount()).isGreaterThan(tasks);
+	}
+
+	@Test
+	void concurrentDownloadsAreAllServed() throws InterruptedException {
+		List<Thread> threads = new ArrayList<>();
+		List<HttpStatus> statuses = Collections.synchronizedList(new ArrayList<>());
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(() -> statuses.add(this.restTemplate
+					.getForEntity("/starter.zip?dependencies=data-jpa", byte[].class).getStatusCode()));
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(statuses).hasSize(8).containsOnly(HttpStatus.OK);
+	}
+
+	private long getTaskCount() {
+		return ((ThreadPoolExecutor) this.executor.getExecutor()).getTaskCount();
+	}
+
+	private List<String> zipEntries(byte[] archive) throws IOException {
+		List<String> entries = new ArrayList<>();
+		try (ZipFile zip = new ZipFile(new SeekableInMemoryByteChannel(archive))) {
+			for (ZipArchiveEntry entry : Collections.list(zip.getEntries())) {
+				entries.add(entry.getName());
+			}
+		}
+		return entries;
+	}
+
+}
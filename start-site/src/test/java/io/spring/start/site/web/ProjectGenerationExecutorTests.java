@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncEvent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectGenerationExecutor}.
+ */
+class ProjectGenerationExecutorTests {
+
+	private final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+			new SynchronousQueue<>());
+
+	private final ProjectGenerationExecutor executor = new ProjectGenerationExecutor(this.threadPool,
+			Duration.ofSeconds(10));
+
+	private StandardServletAsyncWebRequest asyncWebRequest;
+
+	private WebAsyncManager asyncManager;
+
+	@BeforeEach
+	void setUp() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAsyncSupported(true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.asyncManager = WebAsyncUtils.getAsyncManager(request);
+		this.asyncWebRequest = new StandardServletAsyncWebRequest(request, response);
+		this.asyncManager.setAsyncWebRequest(this.asyncWebRequest);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+		this.executor.destroy();
+	}
+
+	@Test
+	void generationRunsOnExecutorAndResultIsDispatched() throws InterruptedException {
+		ResponseEntity<String> response = this.executor
+				.submit(() -> ResponseEntity.ok(Thread.currentThread().getName()));
+		assertThat(response).isNull();
+		assertThat(this.asyncManager.isConcurrentHandlingStarted()).isTrue();
+		awaitConcurrentResult();
+		ResponseEntity<?> result = (ResponseEntity<?>) this.asyncManager.getConcurrentResult();
+		assertThat(result.getBody()).isNotEqualTo(Thread.currentThread().getName());
+	}
+
+	@Test
+	void generationFailureIsDispatchedAsErrorResult() throws InterruptedException {
+		IllegalStateException failure = new IllegalStateException("test");
+		this.executor.submit(() -> {
+			throw failure;
+		});
+		awaitConcurrentResult();
+		assertThat(this.asyncManager.getConcurrentResult()).isSameAs(failure);
+	}
+
+	@Test
+	void requestIsRejectedWhenExecutorIsSaturated() {
+		CountDownLatch latch = new CountDownLatch(1);
+		this.threadPool.execute(() -> {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		try {
+			ResponseEntity<String> response = this.executor.submit(() -> ResponseEntity.ok("test"));
+			assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+			assertThat(this.asyncManager.isConcurrentHandlingStarted()).isFalse();
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
+	@Test
+	void generationIsInterruptedOnTimeout() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		this.executor.submit(() -> {
+			started.countDown();
+			try {
+				Thread.sleep(10000);
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+			}
+			return ResponseEntity.ok("test");
+		});
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		this.asyncWebRequest.onTimeout(new AsyncEvent(this.asyncWebRequest.getRequest().getAsyncContext()));
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		ResponseEntity<?> result = (ResponseEntity<?>) this.asyncManager.getConcurrentResult();
+		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	private void awaitConcurrentResult() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!this.asyncManager.hasConcurrentResult() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(this.asyncManager.hasConcurrentResult()).isTrue();
+	}
+
+}
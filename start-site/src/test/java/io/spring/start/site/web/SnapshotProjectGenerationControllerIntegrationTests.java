@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link SnapshotProjectGenerationController}.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "start.generation.diff.enabled=true")
+@AutoConfigureCache
+class SnapshotProjectGenerationControllerIntegrationTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Test
+	void unknownSnapshotReturnsEveryFile() throws IOException {
+		ResponseEntity<byte[]> response = this.restTemplate
+				.getForEntity("/starter-changes.zip?dependencies=web&since=unknown", byte[].class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getFirst(SnapshotProjectGenerationController.INCREMENTAL_HEADER))
+				.isEqualTo("false");
+		assertThat(response.getHeaders().getFirst(SnapshotProjectGenerationController.SNAPSHOT_HEADER)).isNotEmpty();
+		assertThat(zipEntries(response.getBody())).containsKeys("demo/pom.xml", "demo/mvnw");
+	}
+
+	@Test
+	void onlyChangedFilesAreArchivedAndRemovedFilesAreListedSeparately() throws IOException {
+		ResponseEntity<byte[]> previous = this.restTemplate
+				.getForEntity("/starter-changes.zip?dependencies=web,liquibase", byte[].class);
+		String previousSnapshot = previous.getHeaders().getFirst(SnapshotProjectGenerationController.SNAPSHOT_HEADER);
+		ResponseEntity<byte[]> response = this.restTemplate
+				.getForEntity("/starter-changes.zip?dependencies=web&since=" + previousSnapshot, byte[].class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getFirst(SnapshotProjectGenerationController.INCREMENTAL_HEADER))
+				.isEqualTo("true");
+		assertThat(zipEntries(response.getBody())).containsKey("demo/pom.xml").doesNotContainKey("demo/mvnw");
+		String snapshot = response.getHeaders().getFirst(SnapshotProjectGenerationController.SNAPSHOT_HEADER);
+		ResponseEntity<String> manifest = this.restTemplate.getForEntity(
+				"/starter-changes.txt?since=" + previousSnapshot + "&snapshot=" + snapshot, String.class);
+		assertThat(manifest.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(manifest.getBody()).contains("demo/src/main/resources/db/changelog/db.changelog-master.yaml\n");
+	}
+
+	@Test
+	void manifestOfUnknownSnapshotIsNotFound() {
+		ResponseEntity<String> manifest = this.restTemplate
+				.getForEntity("/starter-changes.txt?since=unknown&snapshot=unknown", String.class);
+		assertThat(manifest.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	private Map<String, String> zipEntries(byte[] archive) throws IOException {
+		Map<String, String> entries = new LinkedHashMap<>();
+		try (ZipFile zip = new ZipFile(new SeekableInMemoryByteChannel(archive))) {
+			for (ZipArchiveEntry entry : Collections.list(zip.getEntries())) {
+				entries.put(entry.getName(),
+						StreamUtils.copyToString(zip.getInputStream(entry), StandardCharsets.UTF_8));
+			}
+		}
+		return entries;
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.start.site.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link StartProjectGenerationController} with cached archives.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = { "start.generation.cache.enabled=true", "start.generation.metrics.enabled=true" })
+@AutoConfigureCache
+class StartProjectGenerationControllerCacheIntegrationTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void cachedArchiveIsNotMeasuredAsGeneration() {
+		String url = "/starter.zip?dependencies=web&artifactId=cached";
+		ResponseEntity<byte[]> response = this.restTemplate.getForEntity(url, byte[].class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		long generations = archiveSizes();
+		ResponseEntity<byte[]> cached = this.restTemplate.getForEntity(url, byte[].class);
+		assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(cached.getBody()).isEqualTo(response.getBody());
+		assertThat(archiveSizes()).isEqualTo(generations);
+	}
+
+	private long archiveSizes() {
+		return this.meterRegistry.find("start.generation.archive.size").summaries().stream()
+				.mapToLong(DistributionSummary::count).sum();
+	}
+
+}